@@ -0,0 +1,168 @@
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.IntFunction;
+import java.util.stream.IntStream;
+
+/**
+ * Plays many games without anyone at the command line, spread over all processor cores,
+ * and sums up how they ended. Used to e.g. see how good the {@link Bot} is at catching players.
+ * <p>
+ * Every game is its own {@link GameLogic} object with its own map copy and players,
+ * so games don't share anything that changes while they run.
+ * <p>
+ * Every game gets its own random numbers, made from one seed and the number of the game, so a run can be replayed exactly with the same seed.
+ * <p>
+ * Run it like: java BatchSimulator [number of games] [map file] [maximum turns per game] [number of bots per game] [seed]
+ *
+ * @author Jiri Swen
+ * @version 1.0
+ * @release 16/10/2026
+ * @see {@link GameLogic.java}
+ * @see {@link GameResult.java}
+ * @see {@link ScriptedPlayer.java}
+ */
+public class BatchSimulator {
+
+	// The threads the games are played on
+	private final ForkJoinPool pool;
+
+	/**
+	 * Constructor that uses as many threads as there are processor cores.
+	 */
+	public BatchSimulator() {
+		this(Runtime.getRuntime().availableProcessors());
+	}
+
+	/**
+	 * @param parallelism : The number of games to play at the same time.
+	 */
+	public BatchSimulator(int parallelism) {
+		pool = new ForkJoinPool(parallelism);
+	}
+
+	/**
+	 * Plays a number of games at the same time and waits until all of them have ended.
+	 *
+	 * @param gameCount : How many games to play.
+	 * @param gameFactory : Makes the game with the given number (every call must give a new game with its own map and players).
+	 * @param maxTurns : The number of turns after which a game is stopped, or 0 to only stop when someone wins or quits.
+	 * @return The result of every game, in the order of their numbers.
+	 */
+	public GameResult[] runGames(int gameCount, IntFunction<GameLogic> gameFactory, int maxTurns) {
+		return pool.submit(() -> IntStream.range(0, gameCount)
+				.parallel()
+				.mapToObj(i -> gameFactory.apply(i).playGame(maxTurns))
+				.toArray(GameResult[]::new))
+			.join();
+	}
+
+	/**
+	 * Stops the threads of this simulator once the games that are running have ended.
+	 */
+	public void shutdown() {
+		pool.shutdown();
+	}
+
+	/**
+	 * Makes a game of a {@link ScriptedPlayer} playing random commands against a {@link Bot}.
+	 *
+	 * @param map : The map to play on (which is copied, so it can be shared by all games).
+	 * @return The new game.
+	 */
+	public static GameLogic createRandomGame(Map map) {
+		return createRandomGame(map, 1);
+	}
+
+	/**
+	 * Makes a game of a {@link ScriptedPlayer} playing random commands against any number of {@link Bot}s.
+	 *
+	 * @param map : The map to play on (which is copied, so it can be shared by all games).
+	 * @param botCount : How many bots to hunt the player with.
+	 * @return The new game.
+	 */
+	public static GameLogic createRandomGame(Map map, int botCount) {
+		return createRandomGame(map, botCount, new SplittableRandom());
+	}
+
+	/**
+	 * Makes a game of a {@link ScriptedPlayer} playing random commands against any number of {@link Bot}s,
+	 * which plays out exactly the same every time it is made with the same random numbers.
+	 *
+	 * @param map : The map to play on (which is copied, so it can be shared by all games).
+	 * @param botCount : How many bots to hunt the player with.
+	 * @param random : The random numbers of the game, which every player gets its own part of.
+	 * @return The new game.
+	 */
+	public static GameLogic createRandomGame(Map map, int botCount, SplittableRandom random) {
+		Player humanPlayer = new ScriptedPlayer(random.split());
+		Player[] bots = new Player[botCount];
+		for (int i = 0; i < botCount; ++i) {
+			bots[i] = new Bot(random.split());
+		}
+		GameLogic game = new GameLogic(new Map(map), humanPlayer, bots);
+		game.setRandom(random);
+		return game;
+	}
+
+	/**
+	 * Makes a game against many bots that decide what to do at the same time on the threads of this simulator,
+	 * so that a few games with hundreds of bots each still use all processor cores.
+	 *
+	 * @param map : The map to play on (which is copied, so it can be shared by all games).
+	 * @param botCount : How many bots to hunt the player with.
+	 * @param seed : The seed for the random numbers of the game.
+	 * @return The new game.
+	 */
+	public GameLogic createParallelGame(Map map, int botCount, long seed) {
+		GameLogic game = createRandomGame(map, botCount, new SplittableRandom(seed));
+		game.setPlanningPool(pool);
+		return game;
+	}
+
+	/**
+	 * Counts how often each outcome happened and how long games took.
+	 *
+	 * @param results : The results to sum up.
+	 * @return A short report to print.
+	 */
+	public static String summarise(GameResult[] results) {
+		int[] outcomeCounts = new int[GameResult.Outcome.values().length];
+		long totalTurns = 0;
+		long totalGold = 0;
+		for (GameResult result : results) {
+			outcomeCounts[result.getOutcome().ordinal()] ++;
+			totalTurns += result.getTurns();
+			totalGold += result.getGoldCollected();
+		}
+		StringBuilder summary = new StringBuilder();
+		summary.append(results.length).append(" games played\n");
+		for (GameResult.Outcome outcome : GameResult.Outcome.values()) {
+			summary.append(outcome).append(": ").append(outcomeCounts[outcome.ordinal()]).append("\n");
+		}
+		if (results.length > 0) {
+			summary.append("Average turns: ").append(totalTurns / (double) results.length).append("\n");
+			summary.append("Average gold collected: ").append(totalGold / (double) results.length).append("\n");
+		}
+		return summary.toString();
+	}
+
+	public static void main(String[] args) throws Exception {
+		int gameCount = args.length > 0 ? Integer.parseInt(args[0]) : 10000;
+		Map map = args.length > 1 ? new Map(args[1]) : new Map();
+		int maxTurns = args.length > 2 ? Integer.parseInt(args[2]) : 1000;
+		int botCount = args.length > 3 ? Integer.parseInt(args[3]) : 1;
+		long seed = args.length > 4 ? Long.parseLong(args[4]) : System.nanoTime();
+
+		BatchSimulator simulator = new BatchSimulator();
+		Bot.getNavigationCache().setRecordingStats(true);
+		long startTime = System.nanoTime();
+		GameResult[] results = simulator.runGames(gameCount, i -> simulator.createParallelGame(map, botCount, seed + i), maxTurns);
+		long elapsedMillis = (System.nanoTime() - startTime) / 1000000;
+		simulator.shutdown();
+
+		System.out.print(summarise(results));
+		System.out.println("Took " + elapsedMillis + " ms (seed " + seed + ")");
+		NavigationCache navigation = Bot.getNavigationCache();
+		System.out.printf("Bot paths looked up: %d of %d (%.1f%%)%n", navigation.getHits(), navigation.getHits() + navigation.getMisses(), navigation.getHitRate() * 100);
+	}
+}
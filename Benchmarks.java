@@ -0,0 +1,368 @@
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * Measures the hot paths of the game, so that it is known whether a change actually made things faster
+ * (and whether it made something else slower).
+ * <p>
+ * Each benchmark is warmed up first so the JIT compiler has done its work, then timed over several rounds.
+ * It reports the average time per operation (with the spread between rounds) and how many bytes were allocated per operation,
+ * which shows how much garbage a turn makes.
+ * Results of every operation are added to a sink so the JIT can't throw the work away.
+ * <p>
+ * Run it like: java Benchmarks [part of a benchmark name] to only run the benchmarks whose name contains it.
+ *
+ * @author Jiri Swen
+ * @version 1.0
+ * @release 16/10/2026
+ * @see {@link DijkstraOperations.java}
+ * @see {@link Bot.java}
+ * @see {@link GameLogic.java}
+ */
+public class Benchmarks {
+
+	// How long to run an operation before starting to measure it
+	private static final long WARMUP_MILLIS = 1000;
+	// How many rounds to measure and for how long each
+	private static final int ROUNDS = 5;
+	private static final long ROUND_MILLIS = 1000;
+
+	/**
+	 * One operation to measure: runs it once and returns anything derived from its result.
+	 */
+	public interface Operation {
+		public long run();
+	}
+
+	// Everything operations return ends up in here so their work is never dead code
+	private static long sink;
+
+	/**
+	 * Runs an operation over and over: first to warm it up, then for a few rounds of which the results are printed.
+	 *
+	 * @param name : The name to print the results under.
+	 * @param operation : The operation to measure.
+	 */
+	public static void measure(String name, Operation operation) {
+		com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+		long threadID = Thread.currentThread().getId();
+
+		runFor(operation, WARMUP_MILLIS);
+		double[] nanosPerOperation = new double[ROUNDS];
+		long totalOperations = 0;
+		long allocatedBefore = threads.getThreadAllocatedBytes(threadID);
+		for (int i = 0; i < ROUNDS; ++i) {
+			long startTime = System.nanoTime();
+			long operations = runFor(operation, ROUND_MILLIS);
+			nanosPerOperation[i] = (System.nanoTime() - startTime) / (double) operations;
+			totalOperations += operations;
+		}
+		long allocated = threads.getThreadAllocatedBytes(threadID) - allocatedBefore;
+
+		double mean = 0;
+		for (double value : nanosPerOperation) {
+			mean += value / ROUNDS;
+		}
+		double variance = 0;
+		for (double value : nanosPerOperation) {
+			variance += (value - mean) * (value - mean) / ROUNDS;
+		}
+		System.out.printf("%-70s %14.1f ns/op  +- %8.1f  %10.1f B/op%n", name, mean, Math.sqrt(variance), allocated / (double) totalOperations);
+	}
+
+	/**
+	 * Runs an operation as many times as fits in some time, checking the clock only once every batch of operations.
+	 *
+	 * @return How many times the operation ran.
+	 */
+	private static long runFor(Operation operation, long millis) {
+		long endTime = System.nanoTime() + millis * 1000000;
+		long operations = 0;
+		int batch = 1;
+		while (System.nanoTime() < endTime) {
+			for (int i = 0; i < batch; ++i) {
+				sink += operation.run();
+			}
+			operations += batch;
+			// Grow the batch until the clock is only checked every so often, but stay well within the time
+			if (batch < 1024) {
+				batch *= 2;
+			}
+		}
+		return operations;
+	}
+
+	/**
+	 * The 5x5 networks of {@link DijkstraOperations}: finding paths and keeping the walls up to date.
+	 */
+	protected static void benchmarkDijkstra(String filter) {
+		List<List<Integer[]>> wallLists = new ArrayList<List<Integer[]>>();
+		wallLists.add(walls(new int[][] {{0, 1}, {1, 1}, {1, 3}, {3, 0}, {3, 2}, {3, 3}}));
+		wallLists.add(walls(new int[][] {{0, 3}, {1, 1}, {2, 3}, {3, 1}, {4, 2}}));
+		int[] source = new int[] {2, 2};
+		int[] target = new int[] {4, 4};
+
+		if (selected("DijkstraOperations.executeDijkstra", filter)) {
+			DijkstraOperations operations = new DijkstraOperations();
+			operations.updateNetwork(wallLists.get(0));
+			measure("DijkstraOperations.executeDijkstra (5x5)", () -> {
+				operations.executeDijkstra(source);
+				return operations.getNextNodeID(target);
+			});
+		}
+		if (selected("DijkstraOperations.updateNetwork", filter)) {
+			DijkstraOperations operations = new DijkstraOperations();
+			int[] turn = new int[1];
+			measure("DijkstraOperations.updateNetwork (walls only)", () -> {
+				operations.updateNetwork(wallLists.get(turn[0]++ & 1));
+				return 1;
+			});
+			DijkstraOperations incremental = new DijkstraOperations(new ManhattanHeuristic(5), true);
+			measure("DijkstraOperations.updateNetwork+search (incremental)", () -> {
+				incremental.updateNetwork(wallLists.get(turn[0]++ & 1));
+				incremental.executeSearch(source, target);
+				return incremental.getNextNodeID(target);
+			});
+		}
+		if (selected("BitboardPathfinder.findFirstStep", filter)) {
+			BitboardPathfinder pathfinder = new BitboardPathfinder(5, 5);
+			long[] wallMasks = new long[2];
+			for (int i = 0; i < wallMasks.length; ++i) {
+				for (Integer[] wall : wallLists.get(i)) {
+					wallMasks[i] |= 1L << (wall[0] * 5 + wall[1]);
+				}
+			}
+			int[] turn = new int[1];
+			measure("BitboardPathfinder.findFirstStep (5x5)", () -> {
+				return pathfinder.findFirstStep(wallMasks[turn[0]++ & 1], 2 * 5 + 2, 4 * 5 + 4);
+			});
+			NavigationCache cache = new NavigationCache(1 << 16);
+			measure("NavigationCache.get (5x5, after the first two)", () -> {
+				int walls = (int) wallMasks[turn[0]++ & 1];
+				long key = NavigationCache.key(walls, 4 * 5 + 4);
+				int step = cache.get(key);
+				if (step == NavigationCache.MISS) {
+					step = pathfinder.findFirstStep(walls, 2 * 5 + 2, 4 * 5 + 4);
+					cache.put(key, step);
+				}
+				return step;
+			});
+		}
+	}
+
+	/**
+	 * The bot deciding what to do: processing what it sees and picking its next action.
+	 */
+	protected static void benchmarkBot(String filter) {
+		if (! selected("Bot", filter)) {
+			return;
+		}
+		char[][][] views = new char[][][] {
+			toGrid("..#..", ".#...", ".....", "..##.", "....P"),
+			toGrid(".....", ".#.#.", ".....", ".#.#.", "....."),
+			toGrid("P....", "###..", ".....", "..#..", ".....")
+		};
+		Bot bot = new Bot();
+		int[] turn = new int[1];
+		measure("Bot.passArray+getAction", () -> {
+			bot.passArray(copyOf(views[turn[0]++ % views.length]));
+			Command action = bot.getAction();
+			if (action.isMove()) {
+				bot.passMoveResult(MoveResult.SUCCESS);
+			}
+			return action.ordinal();
+		});
+		// The bot in the middle of a 33x33 room it has seen all of, so the search goes through the whole room before it finds the way out
+		WorldMemory memory = new WorldMemory();
+		for (int i = -16; i <= 16; ++i) {
+			for (int j = -16; j <= 16; ++j) {
+				memory.remember(i, j, (Math.abs(i) == 16 || Math.abs(j) == 16) && j != 0);
+			}
+		}
+		FrontierExplorer explorer = new FrontierExplorer(32);
+		int[] searches = new int[1];
+		// Starting somewhere else every time (that isn't a step away from before), so every call is a new search
+		measure("FrontierExplorer.findDirection (33x33 room, new search)", () -> {
+			int at = searches[0]++ & 1;
+			return explorer.findDirection(memory, at, at);
+		});
+		// Walking the way it finds out of the room, and back to the middle once it is out
+		int[] at = new int[2];
+		measure("FrontierExplorer.findDirection (33x33 room, walking out)", () -> {
+			char direction = explorer.findDirection(memory, at[0], at[1]);
+			at[0] += Coordinates.getRowStep(direction);
+			at[1] += Coordinates.getColumnStep(direction);
+			if (! memory.isKnown(at[0], at[1])) {
+				at[0] = 0;
+				at[1] = 0;
+			}
+			return direction;
+		});
+	}
+
+	/**
+	 * The parts of {@link GameLogic} that run every turn, on maps of different sizes.
+	 */
+	protected static void benchmarkGameLogic(String filter, String mapName, Map map) {
+		GameLogic game = new GameLogic(new Map(map), new ScriptedPlayer(), new Bot());
+		game.startGame();
+		if (selected("GameLogic.lookArray", filter)) {
+			char[][] view = new char[5][5];
+			measure("GameLogic.lookArray [" + mapName + "]", () -> game.lookArray(game.getBotPosition(), 2, view)[0][0]);
+		}
+		if (selected("GameLogic.move", filter)) {
+			char[] directions = new char[] {'E', 'W', 'N', 'S'};
+			int[] turn = new int[1];
+			measure("GameLogic.move [" + mapName + "]", () -> game.move(directions[turn[0]++ & 3], EntityRegistry.HUMAN + 1).ordinal());
+		}
+	}
+
+	/**
+	 * Finding the nearest gold with the {@link ItemIndex} of a map.
+	 */
+	protected static void benchmarkItemIndex(String filter, String mapName, Map map) {
+		if (! selected("Map.findNearestGold", filter)) {
+			return;
+		}
+		int[] positions = randomFloorPositions(map, 64, 11);
+		int[] query = new int[1];
+		measure("Map.findNearestGold [" + mapName + "]", () -> map.findNearestGold(positions[query[0]++ & 63]));
+	}
+
+	/**
+	 * Finding paths over whole maps with {@link GridPathfinder}.
+	 */
+	protected static void benchmarkGridPathfinder(String filter, String mapName, Map map) {
+		if (! selected("GridPathfinder", filter)) {
+			return;
+		}
+		GridPathfinder breadthFirst = new GridPathfinder(map);
+		GridPathfinder aStar = new GridPathfinder(map);
+		aStar.setHeuristic(new ManhattanHeuristic(map.getWidth() + 2));
+		int[] positions = randomFloorPositions(map, 64, 7);
+		int[] query = new int[1];
+		measure("GridPathfinder BFS [" + mapName + "]", () -> {
+			int i = query[0]++ & 63;
+			return breadthFirst.getDistance(positions[i], positions[(i + 1) & 63]);
+		});
+		measure("GridPathfinder A* [" + mapName + "]", () -> {
+			int i = query[0]++ & 63;
+			return aStar.getDistance(positions[i], positions[(i + 1) & 63]);
+		});
+	}
+
+	/**
+	 * Routing with a {@link DistanceFieldCache}: the first lookup of a target makes its field, every one after that only reads it.
+	 */
+	protected static void benchmarkDistanceFieldCache(String filter, String mapName, Map map) {
+		if (! selected("DistanceFieldCache", filter)) {
+			return;
+		}
+		// Room for the fields of all 8 targets, so the measured lookups are the ones that find their field
+		DistanceFieldCache cache = new DistanceFieldCache(map, 8L * 4 * (map.getHeight() + 2) * (map.getWidth() + 2));
+		int[] positions = randomFloorPositions(map, 64, 13);
+		int[] query = new int[1];
+		measure("DistanceFieldCache.getNextDirection (8 targets) [" + mapName + "]", () -> {
+			int i = query[0]++ & 63;
+			return cache.getNextDirection(positions[i], positions[i & 7]);
+		});
+		measure("DistanceFieldCache.getNextDirectionToItem 'E' [" + mapName + "]", () -> cache.getNextDirectionToItem(positions[query[0]++ & 63], 'E'));
+	}
+
+	/**
+	 * Whole games of a random {@link ScriptedPlayer} against a {@link Bot}.
+	 */
+	protected static void benchmarkGames(String filter, String mapName, Map map) {
+		if (selected("playGame", filter)) {
+			measure("GameLogic.playGame (random player, 1000 turns max) [" + mapName + "]", () -> BatchSimulator.createRandomGame(map).playGame(1000).getTurns());
+		}
+		if (selected("playGame (100 bots)", filter) && map.getHeight() * map.getWidth() >= 100000) {
+			measure("GameLogic.playGame (random player, 100 bots, 1000 turns max) [" + mapName + "]", () -> BatchSimulator.createRandomGame(map, 100).playGame(1000).getTurns());
+			measure("GameLogic.playGame (random player, 100 bots planned in parallel, 1000 turns max) [" + mapName + "]", () -> {
+				GameLogic game = BatchSimulator.createRandomGame(map, 100);
+				game.setPlanningPool(ForkJoinPool.commonPool());
+				return game.playGame(1000).getTurns();
+			});
+		}
+	}
+
+	private static boolean selected(String name, String filter) {
+		return filter == null || name.contains(filter) || filter.contains(name);
+	}
+
+	private static List<Integer[]> walls(int[][] coordinates) {
+		List<Integer[]> wallList = new ArrayList<Integer[]>();
+		for (int[] wall : coordinates) {
+			wallList.add(new Integer[] {wall[0], wall[1]});
+		}
+		return wallList;
+	}
+
+	private static char[][] toGrid(String... rows) {
+		char[][] grid = new char[rows.length][];
+		for (int i = 0; i < rows.length; ++i) {
+			grid[i] = rows[i].toCharArray();
+		}
+		return grid;
+	}
+
+	private static char[][] copyOf(char[][] grid) {
+		char[][] copy = new char[grid.length][];
+		for (int i = 0; i < grid.length; ++i) {
+			copy[i] = grid[i].clone();
+		}
+		return copy;
+	}
+
+	private static int[] randomFloorPositions(Map map, int count, long seed) {
+		Random random = new Random(seed);
+		int[] positions = new int[count];
+		for (int i = 0; i < count; ) {
+			int position = map.toPosition(random.nextInt(map.getHeight()), random.nextInt(map.getWidth()));
+			if (map.isWalkable(position)) {
+				positions[i++] = position;
+			}
+		}
+		return positions;
+	}
+
+	public static void main(String[] args) throws Exception {
+		String filter = args.length > 0 ? args[0] : null;
+
+		List<String> mapNames = new ArrayList<String>();
+		List<Map> maps = new ArrayList<Map>();
+		mapNames.add("default");
+		maps.add(new Map());
+		if (new java.io.File("example_map.txt").exists()) {
+			mapNames.add("example_map.txt");
+			maps.add(new Map("example_map.txt"));
+		}
+		mapNames.add("generated 256x256");
+		maps.add(MapGenerator.generate(256, 256, 0.2, 42));
+		mapNames.add("generated 1024x1024");
+		maps.add(MapGenerator.generate(1024, 1024, 0.2, 42));
+
+		benchmarkDijkstra(filter);
+		benchmarkBot(filter);
+		for (int i = 0; i < maps.size(); ++i) {
+			benchmarkGameLogic(filter, mapNames.get(i), maps.get(i));
+		}
+		for (int i = 0; i < maps.size(); ++i) {
+			benchmarkItemIndex(filter, mapNames.get(i), maps.get(i));
+		}
+		for (int i = 0; i < maps.size(); ++i) {
+			benchmarkGridPathfinder(filter, mapNames.get(i), maps.get(i));
+		}
+		for (int i = 0; i < maps.size(); ++i) {
+			benchmarkDistanceFieldCache(filter, mapNames.get(i), maps.get(i));
+		}
+		for (int i = 0; i < maps.size(); ++i) {
+			benchmarkGames(filter, mapNames.get(i), maps.get(i));
+		}
+		// Printed so the sink is used (and as a sanity check that benchmarks actually ran)
+		System.out.println("(sink: " + sink + ")");
+	}
+}
@@ -0,0 +1,234 @@
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+/**
+ * A compact binary map file format, which {@link Map} reads just like the usual text format (it recognises which one a file is).
+ * <p>
+ * A file is laid out like this (numbers are big-endian):
+ * <ul>
+ * <li>the 4 bytes "DOOM" followed by a 1 byte format version</li>
+ * <li>the length of the map name as an unsigned short, followed by the name in UTF-8</li>
+ * <li>the gold required, the height and the width, as ints</li>
+ * <li>the tiles, row by row, at 2 bits per tile: 4 tiles per byte with the first tile in the highest bits,
+ *     and every row starting on a new byte (the unused bits at the end of a row are 0)</li>
+ * </ul>
+ * As the only tiles on a map are '.', '#', 'G' and 'E', a map takes up about a quarter of the bytes it takes as text.
+ * <p>
+ * Run it like: java BinaryMapFormat [map file to read] [file to write to] to convert a map,
+ * which is written as text if the file to write to ends in ".txt" and in this format otherwise.
+ *
+ * @author Jiri Swen
+ * @version 1.0
+ * @release 16/10/2026
+ * @see {@link Map.java}
+ * @see {@link MapGenerator.java}
+ */
+public class BinaryMapFormat {
+
+	// The file extension used for maps in this format
+	public static final String EXTENSION = ".dmap";
+	// The version written into new files, which goes up whenever the layout changes
+	public static final int VERSION = 1;
+
+	// The bytes every file in this format starts with
+	private static final byte[] MAGIC = new byte[] {'D', 'O', 'O', 'M'};
+	// The tile stored for every 2 bit code
+	private static final char[] TILES = new char[] {'.', '#', 'G', 'E'};
+	/* For every possible byte of tile data which of the 4 tiles it holds are walls, gold and exits (bit i standing for the i-th tile),
+	   so that the tiles can be decoded straight into the sets of bits that {@link Map} stores, 4 at a time */
+	private static final long[] WALLS = new long[256];
+	private static final long[] GOLD = new long[256];
+	private static final long[] EXITS = new long[256];
+	static {
+		for (int value = 0; value < 256; ++value) {
+			for (int i = 0; i < 4; ++i) {
+				int code = (value >>> (6 - 2 * i)) & 3;
+				WALLS[value] |= (TILES[code] == '#' ? 1L : 0L) << i;
+				GOLD[value] |= (TILES[code] == 'G' ? 1L : 0L) << i;
+				EXITS[value] |= (TILES[code] == 'E' ? 1L : 0L) << i;
+			}
+		}
+	}
+
+	/**
+	 * @param buffer : A map file, at its start.
+	 * @return Whether the file is in this format (rather than the text format).
+	 */
+	public static boolean isBinary(ByteBuffer buffer) {
+		if (buffer.remaining() < MAGIC.length) {
+			return false;
+		}
+		for (int i = 0; i < MAGIC.length; ++i) {
+			if (buffer.get(buffer.position() + i) != MAGIC[i]) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	/**
+	 * Reads the start of the header: the format version and the map name.
+	 *
+	 * @param buffer : A map file in this format, at its start. Is left at the gold required.
+	 * @return The name of the map.
+	 * @throws Exception : Thrown if the file is of a version that can't be read or is cut off.
+	 */
+	public static String readName(ByteBuffer buffer) throws Exception {
+		if (buffer.remaining() < MAGIC.length + 3) {
+			throw new Exception("\nYour chosen map appears to be cut off.");
+		}
+		buffer.position(buffer.position() + MAGIC.length);
+		int version = buffer.get() & 0xFF;
+		if (version != VERSION) {
+			throw new Exception("\nYour chosen map is of binary format version " + version + ", which can't be read (only version " + VERSION + " can).");
+		}
+		int nameLength = buffer.getShort() & 0xFFFF;
+		if (buffer.remaining() < nameLength + 12) {
+			throw new Exception("\nYour chosen map appears to be cut off.");
+		}
+		byte[] name = new byte[nameLength];
+		buffer.get(name);
+		return new String(name, StandardCharsets.UTF_8);
+	}
+
+	/**
+	 * @param width : The number of columns of a map.
+	 * @return The number of bytes every row takes up.
+	 */
+	public static int getRowBytes(int width) {
+		return (width + 3) >>> 2;
+	}
+
+	/**
+	 * @param buffer : A map file in this format, at the start of its tiles.
+	 * @param height : The number of rows of the map.
+	 * @param width : The number of columns of the map.
+	 * @throws Exception : Thrown if the file is too short to hold all the tiles.
+	 */
+	public static void checkTiles(ByteBuffer buffer, int height, int width) throws Exception {
+		if ((long) buffer.remaining() < (long) height * getRowBytes(width)) {
+			throw new Exception("\nYour chosen map appears to be cut off.");
+		}
+	}
+
+	/**
+	 * Reads the next row of tiles from the file and adds its walls, gold and exits to sets of bits,
+	 * in which the tiles of a row are numbered one after the other (like {@link Map} does).
+	 *
+	 * @param buffer : A map file in this format, at the start of a row. Is left at the start of the next one.
+	 * @param packedRow : An array of getRowBytes(width) bytes to read the row into, which can be reused for every row.
+	 * @param width : The number of columns of the map.
+	 * @param walls : The set of walls to add to.
+	 * @param gold : The set of gold to add to.
+	 * @param exits : The set of exits to add to.
+	 * @param firstPosition : The bit number of the first tile of the row.
+	 * @throws Exception : Thrown if the unused bits at the end of the row aren't 0, which means the file is damaged.
+	 */
+	public static void readRow(ByteBuffer buffer, byte[] packedRow, int width, long[] walls, long[] gold, long[] exits, int firstPosition) throws Exception {
+		// Copying the row out of the file in one go is a lot faster than reading it byte by byte from the buffer
+		buffer.get(packedRow);
+		// The unused tiles after the last one would otherwise be decoded onto the border and the start of the next row
+		int unusedBits = 2 * (packedRow.length * 4 - width);
+		if ((packedRow[packedRow.length - 1] & ((1 << unusedBits) - 1)) != 0) {
+			throw new Exception("\nYour chosen map appears to be damaged: it has tiles past the end of a row.");
+		}
+		decodeRow(packedRow, walls, gold, exits, firstPosition);
+	}
+
+	/**
+	 * Decodes one row of tiles, 4 at a time. This is a method of its own (rather than a loop that goes through all rows)
+	 * so that it gets compiled after a few rows instead of only after a long time in the interpreter,
+	 * which makes a big difference as a map is only loaded once.
+	 * readRow() has checked that the unused tiles at the end of the last byte are '.', so they never add anything.
+	 */
+	private static void decodeRow(byte[] packedRow, long[] walls, long[] gold, long[] exits, int position) {
+		for (int b = 0; b < packedRow.length; ++b, position += 4) {
+			int value = packedRow[b] & 0xFF;
+			int word = position >>> 6;
+			int shift = position & 63;
+			walls[word] |= WALLS[value] << shift;
+			gold[word] |= GOLD[value] << shift;
+			exits[word] |= EXITS[value] << shift;
+			// The 4 tiles can be split over two words
+			if (shift > 60) {
+				walls[word + 1] |= WALLS[value] >>> (64 - shift);
+				gold[word + 1] |= GOLD[value] >>> (64 - shift);
+				exits[word + 1] |= EXITS[value] >>> (64 - shift);
+			}
+		}
+	}
+
+	/**
+	 * Saves a map in this format.
+	 *
+	 * @param map : The map to save.
+	 * @param fileName : The file to write to.
+	 * @throws IOException : The usual IOException from a FileOutputStream.
+	 * @exception IllegalArgumentException : If the map has a tile other than '.', '#', 'G' and 'E', or a name that is too long.
+	 */
+	public static void writeMap(Map map, String fileName) throws IOException {
+		byte[] name = map.getMapName().getBytes(StandardCharsets.UTF_8);
+		if (name.length > 0xFFFF) {
+			throw new IllegalArgumentException("The name of the map is too long to save.");
+		}
+		int height = map.getHeight();
+		int width = map.getWidth();
+		char[] row = new char[width];
+		byte[] encodedRow = new byte[getRowBytes(width)];
+		DataOutputStream out = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(fileName), 1 << 16));
+		try {
+			out.write(MAGIC);
+			out.writeByte(VERSION);
+			out.writeShort(name.length);
+			out.write(name);
+			out.writeInt(map.getGoldRequired());
+			out.writeInt(height);
+			out.writeInt(width);
+			for (int i = 0; i < height; ++i) {
+				map.copyRow(i, 0, row, 0, width);
+				Arrays.fill(encodedRow, (byte) 0);
+				for (int j = 0; j < width; ++j) {
+					encodedRow[j >>> 2] |= encode(row[j]) << (6 - 2 * (j & 3));
+				}
+				out.write(encodedRow);
+			}
+		}
+		finally {
+			out.close();
+		}
+	}
+
+	/**
+	 * @param tile : A tile of a map.
+	 * @return The 2 bit code the tile is stored as.
+	 * @exception IllegalArgumentException : If the tile can't be stored in this format.
+	 */
+	private static int encode(char tile) {
+		switch (tile) {
+			case '.':
+				return 0;
+			case '#':
+				return 1;
+			case 'G':
+				return 2;
+			case 'E':
+				return 3;
+		}
+		throw new IllegalArgumentException("The tile '" + tile + "' can't be saved in the binary map format.");
+	}
+
+	public static void main(String[] args) throws Exception {
+		Map map = new Map(args[0]);
+		if (args[1].endsWith(".txt")) {
+			MapGenerator.writeMap(map, args[1]);
+		}
+		else {
+			writeMap(map, args[1]);
+		}
+	}
+}
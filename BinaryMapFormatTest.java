@@ -0,0 +1,63 @@
+import java.io.File;
+import java.io.RandomAccessFile;
+import java.util.Arrays;
+
+/**
+ * Checks that maps in the {@link BinaryMapFormat} are read back exactly as they were saved,
+ * and that a file with tiles in the unused bits at the end of a row is refused instead of being read into the wrong tiles.
+ * <p>
+ * Run it like: java BinaryMapFormatTest, which ends with an error if any check fails.
+ *
+ * @author Jiri Swen
+ * @version 1.0
+ * @release 16/10/2026
+ * @see {@link BinaryMapFormat.java}
+ */
+public class BinaryMapFormatTest {
+
+	// A map whose rows of 5 tiles leave 3 unused tiles in their last byte
+	private static final char[][] TILES = new char[][] {
+		"#####".toCharArray(),
+		"#G.E#".toCharArray(),
+		"#.#.#".toCharArray(),
+		"#####".toCharArray()
+	};
+
+	public static void main(String[] args) throws Exception {
+		File file = File.createTempFile("padding", BinaryMapFormat.EXTENSION);
+		file.deleteOnExit();
+		Map map = new Map("Padding", 1, TILES);
+		BinaryMapFormat.writeMap(map, file.getPath());
+		check(Arrays.deepEquals(new Map(file.getPath()).getMap(), TILES), "a saved map is read back as it was");
+
+		// Sets every unused tile at the end of the second row to 'E' (code 3), where a reader that decodes them
+		// would put exits on the right border, the left border of the next row and the first tile of that row
+		int rowBytes = BinaryMapFormat.getRowBytes(TILES[0].length);
+		long rowStart = file.length() - (long) TILES.length * rowBytes + rowBytes;
+		try (RandomAccessFile raw = new RandomAccessFile(file, "rw")) {
+			raw.seek(rowStart + rowBytes - 1);
+			int last = raw.read();
+			raw.seek(rowStart + rowBytes - 1);
+			raw.write(last | 0x3F);
+		}
+		try {
+			new Map(file.getPath());
+			check(false, "a map with tiles past the end of a row is refused");
+		}
+		catch (Exception e) {
+			check(e.getMessage().contains("damaged"), "a map with tiles past the end of a row is refused as damaged (got: " + e.getMessage().trim() + ")");
+		}
+		System.out.println("All checks passed.");
+	}
+
+	/**
+	 * @param passed : Whether the check passed.
+	 * @param description : What was checked.
+	 * @exception AssertionError : If the check failed.
+	 */
+	private static void check(boolean passed, String description) {
+		if (! passed) {
+			throw new AssertionError("Check failed: " + description);
+		}
+	}
+}
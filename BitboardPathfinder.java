@@ -0,0 +1,249 @@
+import java.util.Arrays;
+
+/**
+ * Finds the first step of a shortest path on a grid of tiles without any graph at all:
+ * the grid is a set of bits (one per tile, like the walls of a {@link Map}) and a breadth-first search is a flood fill over those bits.
+ * <p>
+ * The flood starts at the target and every round spreads to all open tiles next to the tiles it reached the round before,
+ * which for a whole row of tiles at once is just a shift and a mask (e.g. everything one tile to the east is the set shifted by one bit).
+ * As soon as the flood reaches the source, the tiles of the round before are the ones that are one step closer to the target,
+ * so the first step is any of those next to the source (tried in the order west, east, north, south, like {@link DijkstraOperations} does).
+ * <p>
+ * A grid of at most 64 tiles (such as the 5x5 area a {@link Bot} sees) fits in one long, for which a whole search is a few dozen instructions.
+ * Larger grids (e.g. a whole map) are done one long at a time, with arrays that every instance keeps to reuse,
+ * so an instance must only be used for large grids by one thread at a time. Searches in one long only read the instance and can be run by any number of threads.
+ *
+ * @author Jiri Swen
+ * @version 1.0
+ * @release 16/10/2026
+ * @see {@link Bot.java}
+ * @see {@link DijkstraOperations.java}
+ */
+public class BitboardPathfinder {
+
+	// The size of the grid: tile n is at row n / width and column n % width, and is bit n of word n / 64
+	private final int width;
+	private final int height;
+	private final int tileCount;
+	// Every tile of the grid
+	private final long[] grid;
+	// The tiles that have a tile to the west / east of them, i.e. all but the first / last column
+	private final long[] notFirstColumn;
+	private final long[] notLastColumn;
+
+	// Only used for grids of more than 64 tiles: the sets the flood works with, reused for every search
+	private final long[] open;
+	private final long[] reached;
+	private long[] frontier;
+	private long[] next;
+	private final long[] shifted;
+
+	/**
+	 * @param width : The number of columns of the grid.
+	 * @param height : The number of rows of the grid.
+	 * @exception IllegalArgumentException : If the grid has no tiles.
+	 */
+	public BitboardPathfinder(int width, int height) {
+		if (width < 1 || height < 1) {
+			throw new IllegalArgumentException("A grid needs at least one tile to find a path on.");
+		}
+		this.width = width;
+		this.height = height;
+		tileCount = width * height;
+		int words = (tileCount + 63) >>> 6;
+		grid = new long[words];
+		notFirstColumn = new long[words];
+		notLastColumn = new long[words];
+		for (int tile = 0; tile < tileCount; ++tile) {
+			grid[tile >>> 6] |= 1L << tile;
+			if (tile % width != 0) {
+				notFirstColumn[tile >>> 6] |= 1L << tile;
+			}
+			if (tile % width != width - 1) {
+				notLastColumn[tile >>> 6] |= 1L << tile;
+			}
+		}
+		boolean large = words > 1;
+		open = large ? new long[words] : null;
+		reached = large ? new long[words] : null;
+		frontier = large ? new long[words] : null;
+		next = large ? new long[words] : null;
+		shifted = large ? new long[words] : null;
+	}
+
+	/**
+	 * @return The number of columns of the grid.
+	 */
+	public int getWidth() {
+		return width;
+	}
+
+	/**
+	 * @return The number of rows of the grid.
+	 */
+	public int getHeight() {
+		return height;
+	}
+
+	/**
+	 * Finds the first step from the source towards the target on a grid of at most 64 tiles.
+	 *
+	 * @param walls : The tiles that can't be walked on (bit n standing for tile n).
+	 * @param source : The tile to start from (see Coordinates.toPosition()).
+	 * @param target : The tile to go to.
+	 * @return The tile next to the source to go to, or Coordinates.NONE if the target can't be reached or is the source.
+	 * @exception IllegalStateException : If the grid doesn't fit in one long.
+	 */
+	public int findFirstStep(long walls, int source, int target) {
+		if (grid.length > 1) {
+			throw new IllegalStateException("A grid of " + tileCount + " tiles doesn't fit in one long.");
+		}
+		if (source == target) {
+			return Coordinates.NONE;
+		}
+		long openTiles = (~walls & grid[0]) | (1L << target);
+		long sourceBit = 1L << source;
+		long reachedTiles = 1L << target;
+		long frontierTiles = reachedTiles;
+		while (frontierTiles != 0) {
+			long nextTiles = (((frontierTiles & notLastColumn[0]) << 1) | ((frontierTiles & notFirstColumn[0]) >>> 1)
+				| (frontierTiles << width) | (frontierTiles >>> width)) & openTiles & ~reachedTiles;
+			if ((nextTiles & sourceBit) != 0) {
+				return pickStep(frontierTiles, source);
+			}
+			reachedTiles |= nextTiles;
+			frontierTiles = nextTiles;
+		}
+		return Coordinates.NONE;
+	}
+
+	/**
+	 * Finds the first step from the source towards the target on a grid of any size, a long of tiles at a time.
+	 *
+	 * @param walls : The tiles that can't be walked on (bit n of word n / 64 standing for tile n).
+	 * @param source : The tile to start from (see Coordinates.toPosition()).
+	 * @param target : The tile to go to.
+	 * @return The tile next to the source to go to, or Coordinates.NONE if the target can't be reached or is the source.
+	 */
+	public int findFirstStep(long[] walls, int source, int target) {
+		if (grid.length == 1) {
+			return findFirstStep(walls[0], source, target);
+		}
+		if (source == target) {
+			return Coordinates.NONE;
+		}
+		for (int i = 0; i < grid.length; ++i) {
+			open[i] = ~walls[i] & grid[i];
+		}
+		open[target >>> 6] |= 1L << target;
+		Arrays.fill(reached, 0);
+		Arrays.fill(frontier, 0);
+		reached[target >>> 6] = 1L << target;
+		frontier[target >>> 6] = 1L << target;
+		boolean spreading = true;
+		while (spreading) {
+			Arrays.fill(next, 0);
+			for (int i = 0; i < grid.length; ++i) {
+				shifted[i] = frontier[i] & notLastColumn[i];
+			}
+			orShiftedUp(shifted, 1, next);
+			for (int i = 0; i < grid.length; ++i) {
+				shifted[i] = frontier[i] & notFirstColumn[i];
+			}
+			orShiftedDown(shifted, 1, next);
+			orShiftedUp(frontier, width, next);
+			orShiftedDown(frontier, width, next);
+			spreading = false;
+			for (int i = 0; i < grid.length; ++i) {
+				next[i] &= open[i] & ~reached[i];
+				reached[i] |= next[i];
+				spreading |= next[i] != 0;
+			}
+			if ((next[source >>> 6] & (1L << source)) != 0) {
+				return pickStep(frontier, source);
+			}
+			long[] swap = frontier;
+			frontier = next;
+			next = swap;
+		}
+		return Coordinates.NONE;
+	}
+
+	/**
+	 * @param closer : The tiles one step closer to the target than the source (in one long).
+	 * @param source : The tile to step from.
+	 * @return The first of the tiles next to the source that is one of the closer ones.
+	 */
+	private int pickStep(long closer, int source) {
+		if (source % width != 0 && (closer & (1L << (source - 1))) != 0) {
+			return source - 1;
+		}
+		if (source % width != width - 1 && (closer & (1L << (source + 1))) != 0) {
+			return source + 1;
+		}
+		if (source >= width && (closer & (1L << (source - width))) != 0) {
+			return source - width;
+		}
+		return source + width;
+	}
+
+	/**
+	 * @param closer : The tiles one step closer to the target than the source.
+	 * @param source : The tile to step from.
+	 * @return The first of the tiles next to the source that is one of the closer ones.
+	 */
+	private int pickStep(long[] closer, int source) {
+		if (source % width != 0 && isSet(closer, source - 1)) {
+			return source - 1;
+		}
+		if (source % width != width - 1 && isSet(closer, source + 1)) {
+			return source + 1;
+		}
+		if (source >= width && isSet(closer, source - width)) {
+			return source - width;
+		}
+		return source + width;
+	}
+
+	private static boolean isSet(long[] tiles, int tile) {
+		return (tiles[tile >>> 6] & (1L << tile)) != 0;
+	}
+
+	/**
+	 * Adds the tiles of a set moved forward by some number of tiles (e.g. 1 to the east or width to the south) to another set.
+	 *
+	 * @param from : The set to move.
+	 * @param shift : How many tiles to move it by.
+	 * @param into : The set to add the moved tiles to.
+	 */
+	private static void orShiftedUp(long[] from, int shift, long[] into) {
+		int words = shift >>> 6;
+		int bits = shift & 63;
+		for (int i = into.length - 1; i >= words; --i) {
+			long word = from[i - words] << bits;
+			if (bits != 0 && i - words > 0) {
+				word |= from[i - words - 1] >>> (64 - bits);
+			}
+			into[i] |= word;
+		}
+	}
+
+	/**
+	 * Adds the tiles of a set moved back by some number of tiles (e.g. 1 to the west or width to the north) to another set.
+	 *
+	 * @param from : The set to move.
+	 * @param shift : How many tiles to move it by.
+	 * @param into : The set to add the moved tiles to.
+	 */
+	private static void orShiftedDown(long[] from, int shift, long[] into) {
+		int words = shift >>> 6;
+		int bits = shift & 63;
+		for (int i = 0; i + words < from.length; ++i) {
+			long word = from[i + words] >>> bits;
+			if (bits != 0 && i + words + 1 < from.length) {
+				word |= from[i + words + 1] << (64 - bits);
+			}
+			into[i] |= word;
+		}
+	}
+}
@@ -1,34 +1,49 @@
-import java.util.List;
-import java.util.ArrayList;
-import java.util.LinkedList;
-import java.util.Arrays;
+import java.util.SplittableRandom;
 import java.util.stream.IntStream;
 
 /**
  * Implements a bot that walks around the map in the game and tries to hunt down the human player.
  * Contains artificial intelligence to decide what to do
  * and where to move whether or not it knows where the human player is.
+ * When it doesn't, it explores the map by going to the closest part of it that it hasn't seen yet,
+ * and only wanders around at random once it has seen everything around it.
  * 
  * @author Jiri Swen
  * @version 2.0
  * @release 15/12/2017
  * @see {@link Player.java}
  * @see {@link GameLogic.java}
- * @see {@link DijkstraOperations.java}
+ * @see {@link BitboardPathfinder.java}
+ * @see {@link WorldMemory.java}
+ * @see {@link FrontierExplorer.java}
  */
 public class Bot implements Player {
 
-	// The latest 5x5 grid that the bot remembers from the last time it looked
-	private char[][] mapMemory;
-	// The coordinates that the bot is at on the 5x5 grid from mapMemory
-	private int[] botCoordinates;
-	// Stores the coordinates where the bot has last seen the human player
-	private int[] memoryPlayerCoordinates;
+	// Everything the bot has seen of the map so far (every 5x5 grid it got when it looked), which it keeps for the whole game
+	private final WorldMemory memory = new WorldMemory();
+	// The row and column the bot is at, counted from the tile it started on (kept up to date with every move that succeeds)
+	private int botRow;
+	private int botColumn;
+	// Stores the row and column where the bot has last seen the human player
+	private int memoryPlayerRow;
+	private int memoryPlayerColumn;
+	// Whether the bot has seen the human player at all (otherwise memoryPlayerRow and memoryPlayerColumn don't mean anything)
+	private boolean hasSeenPlayer = false;
+	/* Paths are planned through the 5x5 area of the memory around the bot (as much as it sees when it looks), which fits in one long for the {@link BitboardPathfinder}:
+	   a tile of that area is stored as one int, row * 5 + column (see {@link Coordinates}), and the bot is always in the middle of it.
+	   Only the walls of that area go into the key of the {@link NavigationCache}, so the same few patterns of walls keep coming up */
+	private static final int PLAN_RADIUS = 2;
+	private static final int PLAN_SIZE = 2 * PLAN_RADIUS + 1;
+	private static final int PLAN_CENTRE = PLAN_RADIUS * PLAN_SIZE + PLAN_RADIUS;
 
 	// Is toggled to remind the bot the next turn that it needs to look
 	private boolean needToLook;
-	// Keeps track of how many turns the bot has not looked consequently
-	private int lookCounter = 0;
+	// Keeps track of how many turns the bot has not looked consequently, i.e. how old its view of the area around it is
+	private int turnsSinceLook = 0;
+	/* The bot looks when more than half of the 5x5 area around it (as much as a LOOK shows) is missing from its memory,
+	   or when it last looked this many turns ago: walls don't move, but players do, so an old view might miss a player passing by */
+	private static final int MOST_UNSEEN_TILES = PLAN_SIZE * PLAN_SIZE / 2;
+	private static final int STALE_TURNS = 5;
 	// Is toggled to know whether the bot should move towards the stored player coordinates
 	private boolean remembersPlayer = false;
 	
@@ -41,20 +56,33 @@ public class Bot implements Player {
 	
 	// Used for picking a random direction when wished
 	private char[] directionsArchive = new char[] {'N', 'S', 'E', 'W'};
+	// The random numbers of this bot only, so bots deciding at the same time don't share (or wait for) anything and games can be replayed
+	private final SplittableRandom random;
 	
-	// Made use of for moving towards the player in the most efficient manner
-	private DijkstraOperations dijkstra;
+	// Made use of for moving towards the player in the most efficient manner (shared by all bots, as searches of 25 tiles only read it)
+	private static final BitboardPathfinder PATHFINDER = new BitboardPathfinder(PLAN_SIZE, PLAN_SIZE);
+	// The steps found before by any bot, as the same walls, bot tile and player tile come up over and over again
+	private static final NavigationCache NAVIGATION_CACHE = new NavigationCache(1 << 16);
+	// Finds the way to the closest tile the bot hasn't seen (searching up to 32 tiles away, which is plenty as the bot explores as it goes)
+	private final FrontierExplorer explorer = new FrontierExplorer(32);
 
 	/**
-	 * Default constructor
+	 * Default constructor, for a bot that wanders around differently every game.
 	 */
 	public Bot() {
-		mapMemory = new char[5][5];
-		botCoordinates = new int[] {2, 2};
-		movingInDirection = directionsArchive[(int) (Math.random() * 4)];
+		this(new SplittableRandom());
+	}
+
+	/**
+	 * Constructor for a bot that always wanders around the same way given the same random numbers (e.g. to replay a game).
+	 *
+	 * @param random : The random numbers for this bot only, e.g. split() from the random numbers of the game.
+	 */
+	public Bot(SplittableRandom random) {
+		this.random = random;
+		movingInDirection = directionsArchive[random.nextInt(4)];
 		lastMovingDirection = movingInDirection;
 		needToLook = true;
-		dijkstra = new DijkstraOperations();
 	}
 
 	/**
@@ -63,17 +91,39 @@ public class Bot implements Player {
 	 * @return The command to be further processed by {@link GameLogic}
 	 */
 	public String getNextAction() {
-		// Also returns "LOOK" if bot has not looked for 5 turns in a row: otherwise it might not see a player passing by whilst moving in its own remembered square
-		if (needToLook || lookCounter >= 5) {
-			lookCounter = 0;
-			return "LOOK";
+		return getAction().getText();
+	}
+
+	/**
+	 * Assesses whether to look or move when asked for the next action.
+	 * 
+	 * @return The command to be further processed by {@link GameLogic}
+	 */
+	public Command getAction() {
+		if (needToLook || isMemoryStale()) {
+			turnsSinceLook = 0;
+			return Command.LOOK;
 		}
 		else {
-			lookCounter ++;
-			return "MOVE " + getMoveDirection();
+			turnsSinceLook ++;
+			return Command.move(getMoveDirection());
 		}
 	}
 
+	/**
+	 * Says whether what the bot remembers of the area around it is not enough to go on without looking.
+	 * As long as it remembers most of it, the bot also moves onto tiles it hasn't seen: a failed move tells it about a wall just as well.
+	 *
+	 * @return Whether more than half of the 5x5 area around the bot hasn't been seen, or the bot hasn't looked for STALE_TURNS turns.
+	 */
+	protected boolean isMemoryStale() {
+		if (turnsSinceLook >= STALE_TURNS) {
+			return true;
+		}
+		long seen = memory.getKnownMask(botRow, botColumn, PLAN_RADIUS);
+		return PLAN_SIZE * PLAN_SIZE - Long.bitCount(seen) > MOST_UNSEEN_TILES;
+	}
+
 	/**
 	 * NOT IMPLEMENTED because for a bot there is no difference
 	 * between the 'raw' and 'processed' input.
@@ -95,6 +145,7 @@ ___  ___              _
 
   /**
    * Assesses whether bot should move towards the player coordinates (i.e. when it has seen a player),
+   * towards the closest tile it hasn't seen (i.e. when there is still some of the map around it to explore),
    * continue in the direction it was already going in (i.e. when there is no obstacles and the next tile is known)
    * or move in a new random direction (i.e. in case of an obstacle or edge of known map).
    * 
@@ -102,16 +153,25 @@ ___  ___              _
    */
 	protected char getMoveDirection() {
 		if (remembersPlayer) {
-			movingInDirection = moveTowardsPlayer();
+			char direction = moveTowardsPlayer();
+			if (direction != 'X') {
+				movingInDirection = direction;
+				return movingInDirection;
+			}
+			// The walls the bot knows of leave no way to where it saw the player, so it goes back to wandering around until it sees them again
+			remembersPlayer = false;
 		}
-		else {
-			while (true) {
-				if (! checkIfCanMove(movingInDirection, true)) {
-					setNewRandomDirection(false);
-				}
-				else {
-					break;
-				}
+		char direction = explorer.findDirection(memory, botRow, botColumn);
+		if (direction != 'X') {
+			movingInDirection = direction;
+			return movingInDirection;
+		}
+		while (! isWalledIn()) {
+			if (! checkIfCanMove(movingInDirection, true)) {
+				setNewRandomDirection(false);
+			}
+			else {
+				break;
 			}
 		}
 		return movingInDirection;
@@ -120,69 +180,64 @@ ___  ___              _
 	/**
 	 * Translates the next tile outputted from getNextTile() to the direction for the bot to move in based on the bot's own coordinates.
 	 * 
-	 * @return The direction to move in.
+	 * @return The direction to move in, or 'X' if there is no path to the player.
+	 * @exception RuntimeException : If the next tile is not next to the bot.
 	 */
 	protected char moveTowardsPlayer() {
-		int[] nextTile = new int[2];
-		nextTile = getNextTile();
-		int[] translation = new int[] {botCoordinates[0] - nextTile[0], botCoordinates[1] - nextTile[1]};
-		if (translation[0] == 1) {
-			return 'N';
-		}
-		if (translation[0] == -1) {
-			return 'S';
-		}
-		if (translation[1] == -1) {
-			return 'E';
+		int nextTile = getNextTile();
+		if (nextTile == Coordinates.NONE) {
+			return 'X';
 		}
-		if (translation[1] == 1) {
-			return 'W';
+		char direction = Coordinates.getDirection(PLAN_CENTRE, nextTile, PLAN_SIZE);
+		if (direction != 'X') {
+			return direction;
 		}
 		throw new RuntimeException();
 	}
 
 	/**
-	 * Has Dijkstra's algorithm run the calculations to give the path to the human player's coordinates 
-	 * and picks the first next space of that path.
+	 * Has the {@link BitboardPathfinder} flood the 5x5 area of the memory around the bot from the human player's coordinates
+	 * to find the first next space of the path there. Tiles that the bot hasn't seen are planned through as if they were floor.
 	 * <p>
-	 * (Reason for generating the path and updating the network anew every single turn:
+	 * (Reason for generating the path anew every single turn:
 	 * to have it be more adaptable to change of the program should you e.g. 
 	 * change the code to have two moves every turn or something: the player's location 
-	 * constantly changes and so does the path as a result...)
+	 * constantly changes and so does the path as a result...
+	 * Flooding 25 tiles is a few dozen instructions, so asking every turn is cheap,
+	 * and a path that any bot found before is just looked up in the {@link NavigationCache}.)
 	 * 
-	 * @return The coordinates for the next tile to move to.
+	 * @return The position (row * 5 + column) in the 5x5 area of the next tile to move to, or Coordinates.NONE if there is no path.
 	 */
-	protected int[] getNextTile() {
-		updateNetwork();
-		dijkstra.executeDijkstra(botCoordinates);
-		LinkedList<Vertex> path = dijkstra.getShortestPath(memoryPlayerCoordinates);
-		return DijkstraOperations.nodeIDToMapCoordinates(DijkstraOperations.vertexToNodeID(path.get(1)));
+	protected int getNextTile() {
+		int rowsAway = memoryPlayerRow - botRow;
+		int columnsAway = memoryPlayerColumn - botColumn;
+		// The bot only goes after a player it saw close by, so a player outside of the area can't be reached as far as it knows
+		if (Math.abs(rowsAway) > PLAN_RADIUS || Math.abs(columnsAway) > PLAN_RADIUS) {
+			return Coordinates.NONE;
+		}
+		int target = Coordinates.toPosition(PLAN_RADIUS + rowsAway, PLAN_RADIUS + columnsAway, PLAN_SIZE);
+		long walls = memory.getWallMask(botRow, botColumn, PLAN_RADIUS);
+		long key = NavigationCache.key(walls, target);
+		int nextTile = NAVIGATION_CACHE.get(key);
+		if (nextTile == NavigationCache.MISS) {
+			nextTile = PATHFINDER.findFirstStep(walls, PLAN_CENTRE, target);
+			NAVIGATION_CACHE.put(key, nextTile);
+		}
+		return nextTile;
 	}
 
 	/**
-	 * Arranges that {@link Dijkstra} stays up to date on where the walls (i.e. obstacles) are.
+	 * @return The steps remembered by all bots, e.g. to see how often a path could be looked up.
 	 */
-	protected void updateNetwork() {
-		List<Integer[]> wallList = new ArrayList<Integer[]>();
-		wallList = findAllWalls();
-		dijkstra.updateNetwork(wallList);
+	public static NavigationCache getNavigationCache() {
+		return NAVIGATION_CACHE;
 	}
 
 	/**
-	 * Searches the entire 5x5 grid for walls (#).
-	 *
-	 * @return A list of the coordinates of all found walls.
+	 * @return Everything the bot has seen of the map so far.
 	 */
-	protected List<Integer[]> findAllWalls() {
-		List<Integer[]> coordinateList = new ArrayList<Integer[]>();
-		for (int i = 0; i < 5; ++i) {
-			for (int j = 0; j < 5; ++j) {
-				if (mapMemory[i][j] == '#') {
-					coordinateList.add(new Integer[] {i, j});
-				}
-			}
-		}
-		return coordinateList;
+	public WorldMemory getMemory() {
+		return memory;
 	}
 	
 /*
@@ -201,26 +256,41 @@ ___  ___              _
    * @param The feedback from {@link GameLogic} to process.
    */
 	public void passResult(String result) {
+		MoveResult moveResult = MoveResult.parse(result);
+		if (moveResult != null) {
+			passMoveResult(moveResult);
+		}
+	}
+
+  /**
+   * Processes feedback of the MOVE sent in getAction().
+   * @param The result from {@link GameLogic} to process.
+   */
+	public void passMoveResult(MoveResult result) {
 		switch (result) {
-			case "MOVE_SUCCESS":
+			case SUCCESS:
 				updateBotCoords();
 				break;
-			case "MOVE_FAIL":
+			case FAIL:
+				// Whatever was in the way (a wall or the edge of the map), the bot won't try to walk through it again
+				memory.remember(botRow + Coordinates.getRowStep(movingInDirection), botColumn + Coordinates.getColumnStep(movingInDirection), true);
 				setNewRandomDirection(false);
 				break;
 		}
 	}
 
 	/**
-	 * Changes the bot's coordinates in its 5x5 grid,
+	 * Changes the bot's row and column,
 	 * still remembering movingInDirection from when it sent the direction to {@link GameLogic}.
 	 * Also decides on a new random direction for the next MOVE if it has 
-	 * arrived at where it last remembered the player was at
-	 * or if the tile it was going to move to is unknown.
+	 * arrived at where it last remembered the player was at.
 	 */
 	protected void updateBotCoords()  {
-		botCoordinates = giveCoordinatesInDirection(botCoordinates, movingInDirection);
-		if (Arrays.equals(botCoordinates, memoryPlayerCoordinates)) {
+		botRow += Coordinates.getRowStep(movingInDirection);
+		botColumn += Coordinates.getColumnStep(movingInDirection);
+		// The bot is standing on it, so it's floor (even if the bot walked onto it without having seen it)
+		memory.remember(botRow, botColumn, false);
+		if (hasSeenPlayer && botRow == memoryPlayerRow && botColumn == memoryPlayerColumn) {
 			remembersPlayer = false;
 			// Look immediately the next turn because the player probably isn't far away
 			needToLook = true;
@@ -228,24 +298,18 @@ ___  ___              _
 			   Obviously the random direction is only used if the player is NOT found the next turn using the LOOK command */
 			setNewRandomDirection(true);
 		}
-		else if (! remembersPlayer && ! checkIfTileIsKnown(movingInDirection)) {
-			setNewRandomDirection(false);
-		}
 	}
 
 	/**
-	 * Updates the 5x5 grid map in the memory of the bot after LOOK command has been issued.
+	 * Adds the 5x5 grid to the memory of the bot after LOOK command has been issued.
 	 * 
 	 * @param The array received from {@link GameLogic} to process.
 	 */
 	public void passArray(char[][] array) {
-		mapMemory = new char[5][5];
-		mapMemory = array;
-		// Set the bot's coordinates back to the middle of the map
-		botCoordinates = new int[] {2, 2};
+		memory.merge(array, botRow, botColumn);
 		needToLook = false;
 		// Makes it so it wil go after the player's currently remembered coordinates the next turn
-		if (findPlayer()) {
+		if (findPlayer(array)) {
 			remembersPlayer = true;
 		}
 		/* Before the LOOK command the direction for the next MOVE had already been set,
@@ -270,56 +334,13 @@ ___  ___              _
  */
 
 	/**
-	 * Gives the coordinates of the tile in a direction respective to another tile.
-	 * 
-	 * @param  oldCoordinates : Tile to base the direction off of.
-	 * @param  direction : Direction to use.
-	 * @return The coordinates of the adjacent tile.
-	 */
-	protected static int[] giveCoordinatesInDirection(int[] oldCoordinates, char direction) {
-		// The {-1, -1} is necessary for the compiler because "The direction might not be N/S/E/W"
-		int[] newCoordinates = new int[] {-1, -1};
-		switch (direction) { // I got this method right from GameLogic inside the move() method
-			case 'N':
-				newCoordinates = new int[] {oldCoordinates[0] - 1, oldCoordinates[1]};
-				break;
-			case 'S':
-				newCoordinates = new int[] {oldCoordinates[0] + 1, oldCoordinates[1]};
-				break;
-			case 'E':
-				newCoordinates = new int[] {oldCoordinates[0], oldCoordinates[1] + 1};
-				break;
-			case 'W':
-				newCoordinates = new int[] {oldCoordinates[0], oldCoordinates[1] - 1};
-				break;
-		}
-		return newCoordinates;
-	}
-
-	/**
-	 * @param The coordinates to find the character at.
-	 * @return The character stored at specified coordinates.
-	 * @throws ArrayIndexOutOfBoundsException if the coordinates are outside of the bot's 5x5 grid.
-	 */
-	protected char getTileAtCoordinate(int[] coordinates) throws ArrayIndexOutOfBoundsException {
-		return mapMemory[coordinates[0]][coordinates[1]];
-	}
-
-	/**
-	 * Says whether or not the tile in a direction is on the known map
-	 * by trying and catching getTileAtCoordinate().
+	 * Says whether or not the tile in a direction is on the known map, i.e. whether the bot has ever seen it.
 	 * 
 	 * @param The direction to check for an unknown tile.
 	 * @return Whether the tile in specified direction is known.
 	 */
 	protected boolean checkIfTileIsKnown(char direction) {
-		try {
-			getTileAtCoordinate(giveCoordinatesInDirection(botCoordinates, direction));
-		}
-		catch (ArrayIndexOutOfBoundsException a) {
-			return false;
-		}
-		return true;
+		return memory.isKnown(botRow + Coordinates.getRowStep(direction), botColumn + Coordinates.getColumnStep(direction));
 	}
 
 	/**
@@ -342,16 +363,19 @@ ___  ___              _
 	}
 
 	/**
-	 * Searches the known 5x5 grid from the last time looked for the human player.
+	 * Searches the 5x5 grid the bot just saw for the human player.
 	 * Updates the stored player coordinates while it's at it.
 	 * 
+	 * @param The grid the bot saw, with the bot in the middle.
 	 * @return Whether the player was found or not.
 	 */
-	protected boolean findPlayer() {
-		for (int i = 0; i < 5; ++i) {
-			for (int j = 0; j < 5; ++j) {
-				if (mapMemory[i][j] == 'P') {
-					memoryPlayerCoordinates = new int[] {i, j};
+	protected boolean findPlayer(char[][] view) {
+		for (int i = 0; i < view.length; ++i) {
+			for (int j = 0; j < view[i].length; ++j) {
+				if (view[i][j] == 'P') {
+					memoryPlayerRow = botRow - view.length / 2 + i;
+					memoryPlayerColumn = botColumn - view[i].length / 2 + j;
+					hasSeenPlayer = true;
 					return true;
 				}
 			}
@@ -382,10 +406,14 @@ ___  ___              _
 	 * @return The direction to move in.
 	 */
 	protected char getNextRandomDirection(boolean backwardsAllowed) {
+		// No direction will ever be found when there are walls on every side, so just keep the one it had
+		if (isWalledIn()) {
+			return movingInDirection;
+		}
 		int timesRun = 0;
 		char direction;
 		while (true) {
-			direction = directionsArchive[(int) (Math.random() * 4)];
+			direction = directionsArchive[random.nextInt(4)];
 			if (checkIfCanMove(direction, backwardsAllowed)) {
 				return direction;
 			}
@@ -399,6 +427,21 @@ ___  ___              _
 		}
 	}
 
+	/**
+	 * A bot can be walled in on every side when it spawned in a pocket of the map (which generated maps can have),
+	 * in which case it can't move at all and just tries to anyway.
+	 *
+	 * @return Whether the bot knows there are walls on all four sides of it.
+	 */
+	protected boolean isWalledIn() {
+		for (char direction : directionsArchive) {
+			if (checkIfCanMove(direction, true)) {
+				return false;
+			}
+		}
+		return true;
+	}
+
 	/**
 	 * Assesses whether the bot can move in a certain direction.
 	 * @param direction : Direction to try moving in.
@@ -406,21 +449,21 @@ ___  ___              _
 	 * @return Whether or not the bot can move in specified direction.
 	 */
 	protected boolean checkIfCanMove(char direction, boolean backwardsAllowed) {
-		try {
-			if (getTileAtCoordinate(giveCoordinatesInDirection(botCoordinates, direction)) != '#' && cantMoveInDirection != direction) {
-				return true;
-			}
-			else if (getTileAtCoordinate(giveCoordinatesInDirection(botCoordinates, direction)) != '#' && backwardsAllowed) {
-				return true;
-			}
-			else {
-				return false;
-			}
-		}
+		int newRow = botRow + Coordinates.getRowStep(direction);
+		int newColumn = botColumn + Coordinates.getColumnStep(direction);
 		/* Also returns that it can move in the direction if that tile is unknown:
 		   the bot will look in the next turn and reevaluate then. */
-		catch (ArrayIndexOutOfBoundsException a) {
+		if (! memory.isKnown(newRow, newColumn)) {
+			return true;
+		}
+		if (! memory.isWall(newRow, newColumn) && cantMoveInDirection != direction) {
 			return true;
 		}
+		else if (! memory.isWall(newRow, newColumn) && backwardsAllowed) {
+			return true;
+		}
+		else {
+			return false;
+		}
 	}
 }
\ No newline at end of file
@@ -0,0 +1,164 @@
+import java.util.Arrays;
+
+/**
+ * Dijkstra's pathfinding algorithm running on a {@link CSRGraph} with an {@link IndexedMinHeap}.
+ * Runs in O(E log V) and, apart from the arrays made once in the constructor, does not allocate anything,
+ * so the same instance can be asked for paths every turn.
+ * <p>
+ * When only the path to one target is needed, executeAStar() guides the search towards it with a {@link Heuristic}
+ * and stops as soon as the target is settled instead of working out the distance to every node.
+ * <p>
+ * Every search can be given a set of blocked nodes (e.g. walls) that it never goes into,
+ * so the graph itself can stay the same and be shared by many searches (see {@link CSRGraph#grid}).
+ *
+ * @author Jiri Swen
+ * @version 1.0
+ * @release 16/10/2026
+ * @see {@link CSRGraph.java}
+ * @see {@link IndexedMinHeap.java}
+ * @see {@link Heuristic.java}
+ */
+public class CSRDijkstra {
+
+	// Used as the distance of nodes that have not been reached (yet)
+	public static final int UNREACHED = Integer.MAX_VALUE;
+
+	// The graph to search through
+	private final CSRGraph graph;
+	// For every node the shortest known distance from the source
+	private final int[] distance;
+	// For every node the node before it on the shortest known path, or -1
+	private final int[] predecessor;
+	// The nodes that still need to be settled, ordered by distance
+	private final IndexedMinHeap unsettledNodes;
+	// The node the last search started from, or -1 if nothing has run yet
+	private int source = -1;
+	// How many nodes the last search settled, to compare how much work different searches do
+	private int expandedCount;
+
+	/**
+	 * @param graph : The graph to search through.
+	 */
+	public CSRDijkstra(CSRGraph graph) {
+		this.graph = graph;
+		distance = new int[graph.getNodeCount()];
+		predecessor = new int[graph.getNodeCount()];
+		unsettledNodes = new IndexedMinHeap(graph.getNodeCount());
+	}
+
+	/**
+	 * Calculates the shortest paths from the source to every other node.
+	 *
+	 * @param sourceNode : The node to start from.
+	 */
+	public void execute(int sourceNode) {
+		executeAStar(sourceNode, -1, Heuristic.NONE, null);
+	}
+
+	/**
+	 * Calculates the shortest paths from the source to every other node without going through any of the blocked nodes.
+	 *
+	 * @param sourceNode : The node to start from.
+	 * @param blocked : The nodes that may not be gone through (bit n of word n / 64 standing for node n), or null if there are none.
+	 */
+	public void execute(int sourceNode, long[] blocked) {
+		executeAStar(sourceNode, -1, Heuristic.NONE, blocked);
+	}
+
+	/**
+	 * Calculates the shortest path from the source to one target with the A* algorithm:
+	 * nodes are settled in order of their distance plus the heuristic's estimate of what is left,
+	 * and the search stops as soon as the target is settled.
+	 * Only the distances of settled nodes are guaranteed to be the shortest afterwards.
+	 * <p>
+	 * The heuristic must be consistent (never drop by more than the weight of an edge) for the path to be the shortest,
+	 * which the {@link ManhattanHeuristic} is on grids.
+	 *
+	 * @param sourceNode : The node to start from.
+	 * @param targetNode : The node to stop at, or -1 to settle every node.
+	 * @param heuristic : The estimate of the remaining distance to the target.
+	 */
+	public void executeAStar(int sourceNode, int targetNode, Heuristic heuristic) {
+		executeAStar(sourceNode, targetNode, heuristic, null);
+	}
+
+	/**
+	 * Same as executeAStar() without blocked nodes, but never goes into any of the blocked nodes:
+	 * they are left UNREACHED, as if they weren't in the graph at all.
+	 *
+	 * @param sourceNode : The node to start from.
+	 * @param targetNode : The node to stop at, or -1 to settle every node.
+	 * @param heuristic : The estimate of the remaining distance to the target.
+	 * @param blocked : The nodes that may not be gone through (bit n of word n / 64 standing for node n), or null if there are none.
+	 */
+	public void executeAStar(int sourceNode, int targetNode, Heuristic heuristic, long[] blocked) {
+		source = sourceNode;
+		expandedCount = 0;
+		Arrays.fill(distance, UNREACHED);
+		Arrays.fill(predecessor, -1);
+		unsettledNodes.clear();
+
+		distance[sourceNode] = 0;
+		unsettledNodes.insertOrDecrease(sourceNode, targetNode == -1 ? 0 : heuristic.estimate(sourceNode, targetNode));
+		while (! unsettledNodes.isEmpty()) {
+			int node = unsettledNodes.pollMin();
+			expandedCount ++;
+			if (node == targetNode) {
+				return;
+			}
+			int nodeDistance = distance[node];
+			for (int edge = graph.getFirstEdge(node), end = graph.getEndEdge(node); edge < end; ++edge) {
+				int target = graph.getTarget(edge);
+				if (blocked != null && (blocked[target >>> 6] & (1L << target)) != 0) {
+					continue;
+				}
+				int newDistance = nodeDistance + graph.getWeight(edge);
+				if (newDistance < distance[target]) {
+					distance[target] = newDistance;
+					predecessor[target] = node;
+					unsettledNodes.insertOrDecrease(target, targetNode == -1 ? newDistance : newDistance + heuristic.estimate(target, targetNode));
+				}
+			}
+		}
+	}
+
+	/**
+	 * @return How many nodes the last search settled.
+	 */
+	public int getExpandedCount() {
+		return expandedCount;
+	}
+
+	/**
+	 * @param node : The node to get the distance to.
+	 * @return The length of the shortest path from the last source to the node, or UNREACHED.
+	 */
+	public int getDistance(int node) {
+		return distance[node];
+	}
+
+	/**
+	 * @param node : The node to get the predecessor of.
+	 * @return The node before it on the shortest path from the last source, or -1 if there is none.
+	 */
+	public int getPredecessor(int node) {
+		return predecessor[node];
+	}
+
+	/**
+	 * Walks back along the shortest path from the target to find the first node after the source.
+	 *
+	 * @param target : The node to go to.
+	 * @return The first node to move to from the last source, or -1 if the target can't be reached or is the source.
+	 */
+	public int getFirstStep(int target) {
+		if (predecessor[target] == -1) {
+			return -1;
+		}
+		int step = target;
+		while (predecessor[step] != source) {
+			step = predecessor[step];
+		}
+		return step;
+	}
+}
@@ -0,0 +1,139 @@
+import java.util.Arrays;
+
+/**
+ * A directed graph stored in compressed sparse row (CSR) form:
+ * nodes are plain numbers and the outgoing edges of node n are the slots
+ * offsets[n] up to (but not including) offsets[n + 1] of the targets and weights arrays.
+ * <p>
+ * Looking up the neighbours of a node is therefore a couple of array reads
+ * instead of a scan over every edge in the graph.
+ * <p>
+ * A graph never changes after it has been made, so one graph can be searched by any number of searches (and threads) at the same time:
+ * everything a search needs to change (e.g. which nodes it may not go through) is kept by the search itself.
+ *
+ * @author Jiri Swen
+ * @version 1.0
+ * @release 16/10/2026
+ * @see {@link CSRDijkstra.java}
+ */
+public class CSRGraph {
+
+	// For every node the first slot of its edges, plus one extra entry marking the end of the last node's edges
+	private final int[] offsets;
+	// For every edge slot the node the edge goes to
+	private final int[] targets;
+	// For every edge slot the cost of taking the edge
+	private final int[] weights;
+
+	/**
+	 * @param offsets : The start slot of the edges of every node, with the total number of edges as the last entry.
+	 * @param targets : The destination node of every edge slot.
+	 * @param weights : The weight of every edge slot.
+	 */
+	public CSRGraph(int[] offsets, int[] targets, int[] weights) {
+		if (targets.length != weights.length || offsets[offsets.length - 1] != targets.length) {
+			throw new IllegalArgumentException("Offsets, targets and weights of a CSR graph do not line up.");
+		}
+		this.offsets = offsets;
+		this.targets = targets;
+		this.weights = weights;
+	}
+
+	/**
+	 * Makes the network of a grid of tiles in which every tile is connected to the tiles above, below, left and right of it,
+	 * with every edge costing 1. Node n is the tile at row n / width and column n % width.
+	 * <p>
+	 * The edges of every node are in the order west, east, north, south, which is the order
+	 * that the network of {@link DijkstraOperations} used to be built in, so paths of the same length are chosen the same way.
+	 *
+	 * @param width : The number of columns of the grid.
+	 * @param height : The number of rows of the grid.
+	 * @return The network of the grid.
+	 */
+	public static CSRGraph grid(int width, int height) {
+		int nodeCount = width * height;
+		int[] offsets = new int[nodeCount + 1];
+		int[] targets = new int[2 * ((width - 1) * height + width * (height - 1))];
+		int edge = 0;
+		for (int node = 0; node < nodeCount; ++node) {
+			offsets[node] = edge;
+			int column = node % width;
+			if (column > 0) {
+				targets[edge++] = node - 1;
+			}
+			if (column < width - 1) {
+				targets[edge++] = node + 1;
+			}
+			if (node >= width) {
+				targets[edge++] = node - width;
+			}
+			if (node < nodeCount - width) {
+				targets[edge++] = node + width;
+			}
+		}
+		offsets[nodeCount] = edge;
+		int[] weights = new int[edge];
+		Arrays.fill(weights, 1);
+		return new CSRGraph(offsets, targets, weights);
+	}
+
+	/**
+	 * @return The number of nodes in the graph.
+	 */
+	public int getNodeCount() {
+		return offsets.length - 1;
+	}
+
+	/**
+	 * @return The number of edges in the graph.
+	 */
+	public int getEdgeCount() {
+		return targets.length;
+	}
+
+	/**
+	 * @param node : The node to get the edges of.
+	 * @return The first edge slot of the node.
+	 */
+	public int getFirstEdge(int node) {
+		return offsets[node];
+	}
+
+	/**
+	 * @param node : The node to get the edges of.
+	 * @return The slot right after the last edge slot of the node.
+	 */
+	public int getEndEdge(int node) {
+		return offsets[node + 1];
+	}
+
+	/**
+	 * @param edge : The edge slot.
+	 * @return The node the edge goes to.
+	 */
+	public int getTarget(int edge) {
+		return targets[edge];
+	}
+
+	/**
+	 * @param edge : The edge slot.
+	 * @return The cost of the edge.
+	 */
+	public int getWeight(int edge) {
+		return weights[edge];
+	}
+
+	/**
+	 * @param source : The node the edge comes from.
+	 * @param target : The node the edge goes to.
+	 * @return The slot of the edge between the two nodes, or -1 if there is none.
+	 */
+	public int findEdge(int source, int target) {
+		for (int edge = offsets[source]; edge < offsets[source + 1]; ++edge) {
+			if (targets[edge] == target) {
+				return edge;
+			}
+		}
+		return -1;
+	}
+}
@@ -0,0 +1,92 @@
+/**
+ * The actions a {@link Player} can take on their turn, so that {@link GameLogic} can process them
+ * without comparing, splitting or building any Strings. The moves carry their direction with them.
+ *
+ * @author Jiri Swen
+ * @version 1.0
+ * @release 16/10/2026
+ * @see {@link Player.java}
+ * @see {@link MoveResult.java}
+ */
+public enum Command {
+	HELLO("HELLO"),
+	LOOK("LOOK"),
+	MOVE_N("MOVE N", 'N'),
+	MOVE_S("MOVE S", 'S'),
+	MOVE_E("MOVE E", 'E'),
+	MOVE_W("MOVE W", 'W'),
+	PICKUP("PICKUP"),
+	QUIT("QUIT"),
+	PASS("PASS"),
+	COMMANDS("COMMANDS");
+
+	// values() makes a new array every call, so it is only done once
+	private static final Command[] ALL = values();
+
+	// The command as it is typed in at the command line
+	private final String text;
+	// 'N', 'S', 'E' or 'W' for the moves, 'X' for everything else
+	private final char direction;
+
+	private Command(String text) {
+		this(text, 'X');
+	}
+
+	private Command(String text, char direction) {
+		this.text = text;
+		this.direction = direction;
+	}
+
+	/**
+	 * @return The command as it is typed in at the command line (e.g. "MOVE N").
+	 */
+	public String getText() {
+		return text;
+	}
+
+	/**
+	 * @return The direction of a move, or 'X' if this is not a move.
+	 */
+	public char getDirection() {
+		return direction;
+	}
+
+	/**
+	 * @return Whether this is one of the moves.
+	 */
+	public boolean isMove() {
+		return direction != 'X';
+	}
+
+	/**
+	 * @param direction : 'N', 'S', 'E' or 'W'.
+	 * @return The move in that direction.
+	 * @exception IllegalArgumentException : If the direction is not one of the four.
+	 */
+	public static Command move(char direction) {
+		switch (direction) {
+			case 'N':
+				return MOVE_N;
+			case 'S':
+				return MOVE_S;
+			case 'E':
+				return MOVE_E;
+			case 'W':
+				return MOVE_W;
+		}
+		throw new IllegalArgumentException("There is no move in direction '" + direction + "'.");
+	}
+
+	/**
+	 * @param text : A command as it is typed in at the command line (already trimmed and in uppercase).
+	 * @return The matching command, or null if the text is not a valid command.
+	 */
+	public static Command parse(String text) {
+		for (Command command : ALL) {
+			if (command.text.equals(text)) {
+				return command;
+			}
+		}
+		return null;
+	}
+}
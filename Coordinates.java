@@ -0,0 +1,109 @@
+/**
+ * Helpers for storing coordinates as one int (a "position") instead of an int[] {row, column}:
+ * on a grid with a given width, the tile at [row][column] has position row * width + column.
+ * Passing positions around doesn't allocate anything, unlike the arrays they replace.
+ *
+ * @author Jiri Swen
+ * @version 1.0
+ * @release 16/10/2026
+ * @see {@link Map.java}
+ * @see {@link Bot.java}
+ */
+public class Coordinates {
+
+	// The position used for "not on the grid", e.g. when stepping off its edge
+	public static final int NONE = -1;
+
+	/**
+	 * @param row : The row (y coordinate).
+	 * @param column : The column (x coordinate).
+	 * @param width : The number of columns of the grid.
+	 * @return The position of the tile.
+	 */
+	public static int toPosition(int row, int column, int width) {
+		return row * width + column;
+	}
+
+	/**
+	 * @param position : The position of a tile.
+	 * @param width : The number of columns of the grid.
+	 * @return The row (y coordinate) of the tile.
+	 */
+	public static int getRow(int position, int width) {
+		return position / width;
+	}
+
+	/**
+	 * @param position : The position of a tile.
+	 * @param width : The number of columns of the grid.
+	 * @return The column (x coordinate) of the tile.
+	 */
+	public static int getColumn(int position, int width) {
+		return position % width;
+	}
+
+	/**
+	 * Gives the position of the tile in a direction respective to another tile.
+	 *
+	 * @param position : The tile to base the direction off of.
+	 * @param direction : 'N', 'S', 'E' or 'W'.
+	 * @param height : The number of rows of the grid.
+	 * @param width : The number of columns of the grid.
+	 * @return The position of the adjacent tile, or NONE if it is off the grid (or the direction is unknown).
+	 */
+	public static int step(int position, char direction, int height, int width) {
+		if (position == NONE) {
+			return NONE;
+		}
+		switch (direction) {
+			case 'N':
+				return position >= width ? position - width : NONE;
+			case 'S':
+				return position < (height - 1) * width ? position + width : NONE;
+			case 'E':
+				return position % width != width - 1 ? position + 1 : NONE;
+			case 'W':
+				return position % width != 0 ? position - 1 : NONE;
+		}
+		return NONE;
+	}
+
+	/**
+	 * @param direction : 'N', 'S', 'E' or 'W'.
+	 * @return How many rows a step in the direction goes down (-1, 0 or 1).
+	 */
+	public static int getRowStep(char direction) {
+		return direction == 'S' ? 1 : direction == 'N' ? -1 : 0;
+	}
+
+	/**
+	 * @param direction : 'N', 'S', 'E' or 'W'.
+	 * @return How many columns a step in the direction goes right (-1, 0 or 1).
+	 */
+	public static int getColumnStep(char direction) {
+		return direction == 'E' ? 1 : direction == 'W' ? -1 : 0;
+	}
+
+	/**
+	 * @param from : The position to step from.
+	 * @param to : The position of an adjacent tile.
+	 * @param width : The number of columns of the grid.
+	 * @return The direction to step in to get from one to the other, or 'X' if they are not adjacent.
+	 */
+	public static char getDirection(int from, int to, int width) {
+		int difference = to - from;
+		if (difference == -width) {
+			return 'N';
+		}
+		if (difference == width) {
+			return 'S';
+		}
+		if (difference == 1 && to % width != 0) {
+			return 'E';
+		}
+		if (difference == -1 && from % width != 0) {
+			return 'W';
+		}
+		return 'X';
+	}
+}
@@ -0,0 +1,257 @@
+import java.util.Arrays;
+
+/**
+ * An incremental pathfinder using the D* Lite algorithm (Koenig and Likhachev, 2002) on a {@link CSRGraph}.
+ * <p>
+ * D* Lite searches backwards, from the goal to the start, and keeps its results between calls.
+ * When the start moves (the bot walked a step) nothing has to be recalculated,
+ * and when a node gets blocked or unblocked (a wall appeared or disappeared) only the nodes
+ * whose distance to the goal actually depends on that node are repaired.
+ * Blocked nodes are kept by the planner itself and never changed in the graph, so the graph can be shared (see {@link CSRGraph#grid}).
+ * Only moving the goal itself makes it start over, as every remembered distance is a distance to the old goal.
+ * <p>
+ * The graph must be symmetric (every edge has one going back with the same weight), as the edges going out of a node
+ * are also used as the edges coming into it. This is the case for the grids made by CSRGraph.grid() (see {@link DijkstraOperations}).
+ *
+ * @author Jiri Swen
+ * @version 1.0
+ * @release 16/10/2026
+ * @see {@link CSRGraph.java}
+ * @see {@link IndexedMinHeap.java}
+ * @see {@link DijkstraOperations.java}
+ */
+public class DStarLite {
+
+	// Used as the distance of nodes that can't reach the goal (as far as is known)
+	private static final int INFINITY = Integer.MAX_VALUE;
+
+	// The graph to search through, which is never changed
+	private final CSRGraph graph;
+	// The nodes that may not be gone through (bit n of word n / 64 standing for node n), changed through setBlocked()
+	private final long[] blocked;
+	// The estimate of the distance between two nodes, used for the distance from the start
+	private final Heuristic heuristic;
+	// For every node the distance to the goal as it was last settled
+	private final int[] g;
+	// For every node the distance to the goal as it follows from its neighbours' g values ("right-hand side")
+	private final int[] rhs;
+	// The nodes whose g and rhs differ (the inconsistent ones), ordered by their keys
+	private final IndexedMinHeap queue;
+
+	// The node the path is wanted to, or -1 if nothing has been planned yet
+	private int goal = -1;
+	// The node the path is wanted from
+	private int start = -1;
+	// The start node at the time the last keys were calculated
+	private int lastStart = -1;
+	// Added to every new key to make up for the start having moved since older keys were calculated
+	private int keyModifier;
+	// How many nodes the last plan() call expanded, to see how much work a repair takes
+	private int expandedCount;
+
+	/**
+	 * @param graph : The (symmetric) graph to search through.
+	 * @param heuristic : Estimates the distance between two nodes, must never overestimate.
+	 */
+	public DStarLite(CSRGraph graph, Heuristic heuristic) {
+		this.graph = graph;
+		this.heuristic = heuristic;
+		blocked = new long[(graph.getNodeCount() + 63) >>> 6];
+		g = new int[graph.getNodeCount()];
+		rhs = new int[graph.getNodeCount()];
+		queue = new IndexedMinHeap(graph.getNodeCount());
+	}
+
+	/**
+	 * Forgets everything and starts planning towards a new goal.
+	 *
+	 * @param newGoal : The node to plan paths to.
+	 */
+	protected void reset(int newGoal) {
+		goal = newGoal;
+		keyModifier = 0;
+		lastStart = start;
+		Arrays.fill(g, INFINITY);
+		Arrays.fill(rhs, INFINITY);
+		queue.clear();
+		rhs[goal] = 0;
+		queue.insertOrDecrease(goal, calculateKey(goal));
+	}
+
+	/**
+	 * Makes sure the shortest path from the start to the goal is known,
+	 * reusing as much as possible of what was calculated for the previous call.
+	 *
+	 * @param startNode : The node to plan the path from.
+	 * @param goalNode : The node to plan the path to.
+	 */
+	public void plan(int startNode, int goalNode) {
+		expandedCount = 0;
+		start = startNode;
+		if (goalNode != goal) {
+			reset(goalNode);
+		}
+		else if (start != lastStart) {
+			// Old keys were calculated for the previous start, so they could now be too high by at most this much
+			keyModifier += heuristic.estimate(lastStart, start);
+			lastStart = start;
+		}
+		computeShortestPath();
+	}
+
+	/**
+	 * Blocks or unblocks a node, and repairs the distances around it on the next plan().
+	 *
+	 * @param node : The node to change.
+	 * @param isBlocked : Whether paths may not go through the node from now on.
+	 */
+	public void setBlocked(int node, boolean isBlocked) {
+		if (isBlocked(node) == isBlocked) {
+			return;
+		}
+		blocked[node >>> 6] ^= 1L << node;
+		if (goal != -1) {
+			updateVertex(node);
+			updateNeighbours(node);
+		}
+	}
+
+	/**
+	 * @param node : The node to check.
+	 * @return Whether paths may not go through the node.
+	 */
+	public boolean isBlocked(int node) {
+		return (blocked[node >>> 6] & (1L << node)) != 0;
+	}
+
+	/**
+	 * Picks the neighbour of the start that the shortest path to the goal goes through.
+	 *
+	 * @return The next node to move to, or -1 if the goal can't be reached or the start is the goal.
+	 */
+	public int getNextStep() {
+		return getNextStep(start);
+	}
+
+	/**
+	 * @param node : The node to move from.
+	 * @return The neighbour of the node the shortest path to the goal continues to, or -1 if there is none.
+	 */
+	public int getNextStep(int node) {
+		if (node == goal || g[node] == INFINITY) {
+			return -1;
+		}
+		int best = -1;
+		long bestDistance = INFINITY;
+		for (int edge = graph.getFirstEdge(node), end = graph.getEndEdge(node); edge < end; ++edge) {
+			if (isBlocked(graph.getTarget(edge))) {
+				continue;
+			}
+			long distance = add(graph.getWeight(edge), g[graph.getTarget(edge)]);
+			if (distance < bestDistance) {
+				bestDistance = distance;
+				best = graph.getTarget(edge);
+			}
+		}
+		return best;
+	}
+
+	/**
+	 * @return The node the last plan() call planned from.
+	 */
+	public int getStart() {
+		return start;
+	}
+
+	/**
+	 * @param node : The node to get the distance of.
+	 * @return The length of the shortest path from the node to the goal (as far as has been planned), or Integer.MAX_VALUE.
+	 */
+	public int getDistance(int node) {
+		return g[node];
+	}
+
+	/**
+	 * @return How many nodes the last plan() call expanded.
+	 */
+	public int getExpandedCount() {
+		return expandedCount;
+	}
+
+	/**
+	 * Expands inconsistent nodes in key order until the start is consistent and nothing in the queue could still improve it.
+	 */
+	private void computeShortestPath() {
+		while (! queue.isEmpty() && (queue.peekPriority() < calculateKey(start) || rhs[start] != g[start])) {
+			long oldKey = queue.peekPriority();
+			int node = queue.pollMin();
+			expandedCount ++;
+			long newKey = calculateKey(node);
+			if (oldKey < newKey) {
+				// The key was outdated because the start moved: queue it again with the right one
+				queue.insertOrDecrease(node, newKey);
+			}
+			else if (g[node] > rhs[node]) {
+				g[node] = rhs[node];
+				updateNeighbours(node);
+			}
+			else {
+				g[node] = INFINITY;
+				updateVertex(node);
+				updateNeighbours(node);
+			}
+		}
+	}
+
+	/**
+	 * Recalculates the rhs of every neighbour of a node.
+	 */
+	private void updateNeighbours(int node) {
+		for (int edge = graph.getFirstEdge(node), end = graph.getEndEdge(node); edge < end; ++edge) {
+			updateVertex(graph.getTarget(edge));
+		}
+	}
+
+	/**
+	 * Recalculates the rhs of a node from its neighbours and (re)queues it if it became inconsistent.
+	 * A blocked node can't reach the goal at all, and no node can reach it through a blocked neighbour.
+	 */
+	private void updateVertex(int node) {
+		if (node != goal) {
+			long best = INFINITY;
+			if (! isBlocked(node)) {
+				for (int edge = graph.getFirstEdge(node), end = graph.getEndEdge(node); edge < end; ++edge) {
+					if (! isBlocked(graph.getTarget(edge))) {
+						best = Math.min(best, add(graph.getWeight(edge), g[graph.getTarget(edge)]));
+					}
+				}
+			}
+			rhs[node] = (int) best;
+		}
+		if (g[node] != rhs[node]) {
+			queue.update(node, calculateKey(node));
+		}
+		else {
+			queue.remove(node);
+		}
+	}
+
+	/**
+	 * The key is the pair [min(g, rhs) + estimate from start + keyModifier, min(g, rhs)],
+	 * compared on the first value and then the second: here both are packed into one long.
+	 */
+	private long calculateKey(int node) {
+		long distance = Math.min(g[node], rhs[node]);
+		if (distance == INFINITY) {
+			return Long.MAX_VALUE;
+		}
+		return ((distance + heuristic.estimate(start, node) + keyModifier) << 32) | distance;
+	}
+
+	/**
+	 * Adds a weight to a distance without overflowing when the distance is infinite.
+	 */
+	private static long add(int weight, int distance) {
+		return distance == INFINITY ? INFINITY : (long) weight + distance;
+	}
+}
@@ -7,26 +7,40 @@ import java.util.LinkedList;
  * to create a network for the 5x5 grid in the Bot's memory
  * in order to move towards the human player efficiently
  * and avoid walls in the process.
+ * (The {@link Bot} itself now uses the much smaller {@link BitboardPathfinder} for this, which finds the same paths.)
+ * <p>
+ * The network itself (which tile is next to which) is the same for every bot and every turn,
+ * so it is made only once and shared by all bots, without ever being changed.
+ * The walls are instead given to every search as a set of blocked tiles that it never goes into,
+ * so keeping up with the walls doesn't create anything and a path never leads through a wall:
+ * if the walls leave no way to the target, there is no path at all.
  * 
  * @author Jiri Swen
- * @version 1.0
+ * @version 2.0
  * @release 15/12/2017
- * @see {@link DijkstraAlgorithm.java}
+ * @see {@link CSRGraph.java}
+ * @see {@link CSRDijkstra.java}
+ * @see {@link DStarLite.java}
  * @see {@link Vertex.java}
- * @see {@link Edge.java}
- * @see {@link Graph.java}
+ * @see {@link Heuristic.java}
  * @see {@link Bot.java}
  */
 public class DijkstraOperations {
 
-	// The class that computes it all using a graph
-	private DijkstraAlgorithm dijkstra;
-	// The nodes of the network
-	private List<Vertex> nodes;
-	// All the edges in the network
-	private List<Edge> edges;
-	// The graph containing the nodes and the edges linking them
-	private Graph graph;
+	// The network of the 5x5 grid, shared by every bot (searches never change it)
+	private static final CSRGraph NETWORK = CSRGraph.grid(5, 5);
+	// The nodes of the network as vertices, only used to hand out whole paths (shared as well, as they never change either)
+	private static final List<Vertex> NODES = createNodes();
+
+	// The class that computes it all using the network, with the arrays of this bot's searches
+	private final CSRDijkstra dijkstra = new CSRDijkstra(NETWORK);
+	// The walls the searches may not go through: bit n of word n / 64 standing for node n
+	private final long[] walls = new long[(NETWORK.getNodeCount() + 63) >>> 6];
+	// Guides the search towards the target when set, otherwise every search is a full Dijkstra
+	private Heuristic heuristic;
+
+	// Only used in incremental mode: the planner that keeps its results (and the walls it knows of) between turns
+	private DStarLite planner;
 
 /*
  _____        _  _    _         _  _              _    _               
@@ -40,77 +54,59 @@ public class DijkstraOperations {
 	/**
 	 * Default constructor.
 	 */
-	public DijkstraOperations() {
-		initialiseDijkstra();
-	}
+	public DijkstraOperations() {}
 
 	/**
-	 * Creates all the things necessary to run Dijkstra's algorithm.
-	 * Got this method from vogella:
-	 * https://github.com/vogellacompany/codeexamples-java/blob/master/de.vogella.algorithms.dijkstra/src/de/vogella/algorithms/dijkstra/test/TestDijkstraAlgorithm.java
+	 * Constructor that selects how paths are searched for.
+	 *
+	 * @param heuristic : The heuristic for A* to use, or null to run the full Dijkstra like the default constructor.
 	 */
-	protected void initialiseDijkstra() {
-		nodes = new ArrayList<Vertex>();
-
-		// Creates the 25 nodes of the network
-		for (int i = 0; i < 25; i++) {
-			// Makes the ID of the vertices just a number for easy conversion
-			Vertex location = new Vertex("" + i, "Node_" + i);
-			nodes.add(location);
-		}
-
-		resetEdges();
+	public DijkstraOperations(Heuristic heuristic) {
+		this.heuristic = heuristic;
+	}
 
-		graph = new Graph(nodes, edges);
-		dijkstra = new DijkstraAlgorithm(graph);
+	/**
+	 * Switches between A* (when given a heuristic, e.g. a {@link ManhattanHeuristic} with a width of 5)
+	 * and the full Dijkstra (when given null) for executeSearch().
+	 *
+	 * @param The heuristic to use from now on, or null.
+	 */
+	protected void setHeuristic(Heuristic heuristic) {
+		this.heuristic = heuristic;
 	}
 
 	/**
-	 * Creates all the edges (connections between nodes) of the network anew
-	 * so that all have the same weight.
+	 * Constructor for the incremental mode, in which not every search starts from scratch:
+	 * updateNetwork() only tells a {@link DStarLite} planner about walls that appeared or disappeared,
+	 * and the planner repairs just the part of the paths that those changes affect.
+	 * As long as the walls and the target stay the same, moving the source costs (almost) nothing.
 	 * <p>
-	 * The edges are ordered like this:
-	 * IDs 0-39:  horizontal edges (and e.g. 0-7 for the top row)
-	 * IDs 40-79: vertical edges (and e.g. 40-47 for the leftmost column)
+	 * In this mode executeSearch() must be used rather than executeDijkstra().
+	 *
+	 * @param heuristic : The heuristic for the planner to use, or null to not use one.
+	 * @param incremental : Whether to use the incremental mode.
 	 */
-	protected void resetEdges() {
-		edges = new ArrayList<Edge>();
-		int edgeIDNumber = 0;
-		/* Please look at the ordering as described above to understand the maths here: 
-		   an Edge is always created between two node ID numbers and there are 5 nodes in a row */
-
-		// Creates all horizontal edges
-		for (int i = 0; i < 25; i += 5) {
-			for (int j = 0; j < 4; ++j) {
-				/* Edges are created back and forth because Dijkstra's algorithm uses
-				   a directional graph and I want all connections to be bi-directional */
-				addEdge("Edge_" + edgeIDNumber, i + j, i + j + 1);
-				edgeIDNumber ++;
-				addEdge("Edge_" + edgeIDNumber, i + j + 1, i + j);
-				edgeIDNumber ++;
-			}
-		}
-
-		// Creates all vertical edges
-		for (int i = 0; i < 5; i++) {
-			for (int j = 0; j < 20; j += 5) {
-				addEdge("Edge_" + edgeIDNumber, i + j, i + j + 5);
-				edgeIDNumber ++;
-				addEdge("Edge_" + edgeIDNumber, i + j + 5, i + j);
-				edgeIDNumber ++;
-			}
+	public DijkstraOperations(Heuristic heuristic, boolean incremental) {
+		this.heuristic = heuristic;
+		if (incremental) {
+			planner = new DStarLite(NETWORK, heuristic == null ? Heuristic.NONE : heuristic);
 		}
 	}
 
 	/**
-	 * Add and edge with weight 1 to the network.
-	 * @param edgeID : The "name" for the new edge.
-	 * @param sourceLocNo : The node from which the edge comes.
-	 * @param destLocNo : The node to which the edge goes.
+	 * Creates the 25 nodes of the network.
+	 * Got this from vogella:
+	 * https://github.com/vogellacompany/codeexamples-java/blob/master/de.vogella.algorithms.dijkstra/src/de/vogella/algorithms/dijkstra/test/TestDijkstraAlgorithm.java
+	 *
+	 * @return The nodes, by node ID.
 	 */
-	protected void addEdge(String edgeID, int sourceLocNo, int destLocNo) {
-		Edge newEdge = new Edge(edgeID, nodes.get(sourceLocNo), nodes.get(destLocNo), 1);
-		edges.add(newEdge);
+	private static List<Vertex> createNodes() {
+		List<Vertex> nodes = new ArrayList<Vertex>();
+		for (int i = 0; i < 25; i++) {
+			// Makes the ID of the vertices just a number for easy conversion
+			nodes.add(new Vertex("" + i, "Node_" + i));
+		}
+		return nodes;
 	}
 
 /*
@@ -125,86 +121,33 @@ public class DijkstraOperations {
  */
 
 	/**
-	 * Creates the network anew in order to stay up-to-date on where the walls (i.e. obstacles) are.
+	 * Keeps up to date on where the walls (i.e. obstacles) are.
 	 * 
-	 * @param List of the coordinates of all the wall tiles in the 5x5 grid. Called from {@link Bot}
+	 * @param List of the coordinates of all the wall tiles in the 5x5 grid.
 	 */
 	protected void updateNetwork(List<Integer[]> wallList) {
-		resetEdges();
+		int wallMask = 0;
 		for (int i = 0; i < wallList.size(); ++i) {
-			addObstacle(wallList.get(i));
+			wallMask |= 1 << (wallList.get(i)[0] * 5 + wallList.get(i)[1]);
 		}
-		graph = new Graph(nodes, edges);
-		dijkstra = new DijkstraAlgorithm(graph);
+		updateNetwork(wallMask);
 	}
 
 	/**
-	 * Adds an 'obstacle' in the network by setting the weights of all the edges around it to a high value.
+	 * Keeps up to date on where the walls (i.e. obstacles) are, without creating anything.
 	 * 
-	 * @param The coordinates of the obstacle to add.
-	 */
-	protected void addObstacle(Integer[] coordinates) {
-		List<Integer> edgeIDs = getEdgeIDsAroundPoint(coordinates);
-		for (int i = 0; i < edgeIDs.size(); ++i) {
-			Edge edgeToRemove = edges.get(edgeIDs.get(i));
-			edgeToRemove.setWeight(99999);
-			edges.set(edgeIDs.get(i), edgeToRemove);
-		}
-	}
-
-	/**
-	 * Gets the ID values of the edges around a node in the network.
-	 * @param Coordinates of the point around which to take the edges.
-	 * @return A list of the ID values of the wanted edges.
+	 * @param A mask with the bit of the node ID of every wall tile in the 5x5 grid set.
 	 */
-	protected List<Integer> getEdgeIDsAroundPoint (Integer[] coordinates) {
-		List<Integer> edgeIDList = new ArrayList<Integer>();
-		// Add the horizontal edges to the list
-		edgeIDList.addAll(addEdgesToList(coordinates[0], coordinates[1], 0));
-		// Add the vertical edges to the list
-		edgeIDList.addAll(addEdgesToList(coordinates[1], coordinates[0], 40));
-		return edgeIDList;
-	}
-
-	/**
-	 * Gives the edges that lie around a point in either horizontal or vertical direction.
-	 * For the vertical values, the coordinates are swapped and the offset is increased to 40:
-	 * it is this easy because of the order in which the edges where constructed.
-	 * <p>
-	 * The math:
-	 * If you think of the network as having 20 edges, you can do coordinate1 * 4 + coordinate2
-	 * to land at the edge number at the right (/ top) of the point [1,2] (/ [2,1])
-	 * (e.g. the point[3,1] gives edge 13, while edge 12 and 13 surround it).
-	 * So then, you want to get the edges around it, you take this number -1 and the number itself.
-	 * And of course, if it is at an edge of the network, the left/right side would need to be excluded.
-	 * The same logic has been used, except all times 2.
-	 * 
-	 * @param coordinate1 : The first coordinate (either horizontal or vertical).
-	 * @param coordinate2 : The second coordinate (either vertical or horizontal).
-	 * @param offset : The edge ID number at which to start 'counting'.
-	 * @return List of the horizontal/vertical edges adjacent to the tile.
-	 */
-	protected List<Integer> addEdgesToList(Integer coordinate1, Integer coordinate2, int offset) {
-		List<Integer> halfEdgeIDList = new ArrayList<Integer>();
-		int startI;
-		int endI;
-		if (coordinate2 == 0) {
-			startI = 0;
-		}
-		else {
-			startI = -2;
-		}
-		if (coordinate2 == 0 || coordinate2 == 4) {
-			endI = startI + 2;
-		}
-		else {
-			endI = startI + 4;
-		}
-
-		for (int i = startI; i < endI; ++i) {
-			halfEdgeIDList.add(offset + coordinate1 * 8 + coordinate2 * 2 + i);
+	protected void updateNetwork(int wallMask) {
+		long newWalls = wallMask & 0xFFFFFFFFL;
+		if (planner != null) {
+			// Only the walls that appeared or disappeared need the planner to repair anything
+			for (long changed = walls[0] ^ newWalls; changed != 0; changed &= changed - 1) {
+				int node = Long.numberOfTrailingZeros(changed);
+				planner.setBlocked(node, (newWalls & (1L << node)) != 0);
+			}
 		}
-		return halfEdgeIDList;
+		walls[0] = newWalls;
 	}
 
 /*
@@ -219,12 +162,42 @@ public class DijkstraOperations {
 */
 
 	/**
-	 * Run Dijkstra's algorithm (from {@link GameLogic}) based from a specified source tile.
+	 * Run Dijkstra's algorithm (from {@link GameLogic}) based from a specified source tile, finding the paths to all tiles.
 	 * 
 	 * @param Coordinates of the tile from which to run Dijkstra.
 	 */
 	protected void executeDijkstra(int[] mapCoordinates) {
-		dijkstra.execute(nodes.get(mapCoordinatesToNodeID(mapCoordinates)));
+		dijkstra.execute(mapCoordinatesToNodeID(mapCoordinates), walls);
+	}
+
+	/**
+	 * Run the search that was selected with setHeuristic() from a source tile towards a target tile.
+	 * With A* the search stops as soon as the path to the target is known,
+	 * so only getNextNodeID() and getShortestPath() for that same target may be used afterwards.
+	 * 
+	 * @param sourceCoordinates : Coordinates of the tile from which to search.
+	 * @param targetCoordinates : Coordinates of the tile to search a path to.
+	 */
+	protected void executeSearch(int[] sourceCoordinates, int[] targetCoordinates) {
+		executeSearch(mapCoordinatesToNodeID(sourceCoordinates), mapCoordinatesToNodeID(targetCoordinates));
+	}
+
+	/**
+	 * Same as executeSearch() with coordinates, but with the node IDs (row * 5 + column) of the tiles.
+	 * 
+	 * @param sourceNodeID : Node ID of the tile from which to search.
+	 * @param targetNodeID : Node ID of the tile to search a path to.
+	 */
+	protected void executeSearch(int sourceNodeID, int targetNodeID) {
+		if (planner != null) {
+			planner.plan(sourceNodeID, targetNodeID);
+		}
+		else if (heuristic == null) {
+			dijkstra.execute(sourceNodeID, walls);
+		}
+		else {
+			dijkstra.executeAStar(sourceNodeID, targetNodeID, heuristic, walls);
+		}
 	}
 
 	/**
@@ -232,10 +205,67 @@ public class DijkstraOperations {
 	 * that was used when running executeDijkstra(). Run from {@link GameLogic}.
 	 * 
 	 * @param Coordinates of the tile to calculate the path towards.
-	 * @return A list of the vertices (nodes) to the target tile, starting at the source tile.
+	 * @return A list of the vertices (nodes) to the target tile, starting at the source tile, or null if there is no path.
 	 */
 	protected LinkedList<Vertex> getShortestPath(int[] mapCoordinates) {
-		return dijkstra.getPath(nodes.get(mapCoordinatesToNodeID(mapCoordinates)));
+		if (planner != null) {
+			return getPlannedPath();
+		}
+		int step = mapCoordinatesToNodeID(mapCoordinates);
+		if (dijkstra.getPredecessor(step) == -1) {
+			return null;
+		}
+		// Walks back from the target, adding to the front so it ends up in the correct order
+		LinkedList<Vertex> path = new LinkedList<Vertex>();
+		path.addFirst(NODES.get(step));
+		while (dijkstra.getPredecessor(step) != -1) {
+			step = dijkstra.getPredecessor(step);
+			path.addFirst(NODES.get(step));
+		}
+		return path;
+	}
+
+	/**
+	 * Follows the incremental planner's next steps from its start to its goal.
+	 * 
+	 * @return A list of the vertices (nodes) to the target tile, starting at the source tile, or null if there is no path.
+	 */
+	protected LinkedList<Vertex> getPlannedPath() {
+		int step = planner.getStart();
+		if (planner.getNextStep() == -1) {
+			return null;
+		}
+		LinkedList<Vertex> path = new LinkedList<Vertex>();
+		while (step != -1) {
+			path.add(NODES.get(step));
+			step = planner.getNextStep(step);
+		}
+		return path;
+	}
+
+	/**
+	 * Get the first tile of the most efficient path to a specified tile from the source tile
+	 * that was used when running executeDijkstra(), straight from the {@link CSRDijkstra} engine
+	 * so no list of vertices has to be built.
+	 * 
+	 * @param Coordinates of the tile to calculate the path towards.
+	 * @return The node ID of the next tile to move to, or -1 if there is no path.
+	 */
+	protected int getNextNodeID(int[] mapCoordinates) {
+		return getNextNodeID(mapCoordinatesToNodeID(mapCoordinates));
+	}
+
+	/**
+	 * Same as getNextNodeID() with coordinates, but with the node ID (row * 5 + column) of the target.
+	 * 
+	 * @param Node ID of the tile to calculate the path towards.
+	 * @return The node ID of the next tile to move to, or -1 if there is no path.
+	 */
+	protected int getNextNodeID(int targetNodeID) {
+		if (planner != null) {
+			return planner.getNextStep();
+		}
+		return dijkstra.getFirstStep(targetNodeID);
 	}
 
 /*
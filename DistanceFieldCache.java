@@ -0,0 +1,258 @@
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+
+/**
+ * Remembers distance fields for a {@link Map}: for a target, the number of moves from every tile to it.
+ * Once the field for a target has been made (with one breadth-first search from the target),
+ * the next step towards it from any tile is found by just looking at the four neighbours,
+ * which makes routing many bots to the same few tiles (the player, exits or gold) O(1) per turn.
+ * Tiles are given and fields are indexed by their positions on the map (see Map.toPosition()),
+ * so the border of walls around the map keeps every step on the field without a bounds check.
+ * <p>
+ * Fields are kept in least-recently-used order and the oldest ones are thrown away when they take up more memory than allowed.
+ * The cache checks the map's versions on every lookup and forgets everything that the map has made outdated:
+ * fields to a tile when a wall changes, fields to an item (e.g. the nearest 'G') when any tile changes.
+ * <p>
+ * Lookups can be done from several threads at once; a field that is handed out is never changed afterwards.
+ *
+ * @author Jiri Swen
+ * @version 1.0
+ * @release 16/10/2026
+ * @see {@link Map.java}
+ * @see {@link GridPathfinder.java}
+ */
+public class DistanceFieldCache {
+
+	// The distance in a field for tiles that can't reach the target
+	public static final int UNREACHABLE = -1;
+	// Returned by getNextDirection() when there is no step to take
+	public static final char NO_DIRECTION = 'X';
+
+	// The directions in the same order as the position offsets below
+	private static final char[] DIRECTIONS = new char[] {'N', 'S', 'E', 'W'};
+
+	// The map the fields are made for
+	private final Map map;
+	// What a step in each of the DIRECTIONS adds to a position on the map
+	private final int[] offsets;
+	// The most memory the fields may take up together, in bytes
+	private final long maxBytes;
+	// The fields by key (the position of a tile, or a negative number for an item), oldest used first
+	private final LinkedHashMap<Integer, int[]> fields = new LinkedHashMap<Integer, int[]>(16, 0.75f, true);
+	// The memory the fields currently take up, in bytes
+	private long usedBytes;
+	// The map versions that the stored fields were made for
+	private int layoutVersion;
+	private int itemVersion;
+
+	// Only for statistics: how many lookups could use a stored field and how many had to make one
+	private long hits;
+	private long misses;
+
+	/**
+	 * @param map : The map to make distance fields for.
+	 * @param maxBytes : The most memory all fields together may take up (at least one field is always kept).
+	 */
+	public DistanceFieldCache(Map map, long maxBytes) {
+		this.map = map;
+		this.maxBytes = maxBytes;
+		int stride = map.toPosition(1, 0) - map.toPosition(0, 0);
+		offsets = new int[] {-stride, stride, 1, -1};
+		layoutVersion = map.getLayoutVersion();
+		itemVersion = map.getItemVersion();
+	}
+
+	/**
+	 * Gives the direction to move in to get one step closer to a tile.
+	 *
+	 * @param from : The position (see Map.toPosition()) to move from.
+	 * @param target : The position to move towards.
+	 * @return 'N', 'S', 'E' or 'W', or NO_DIRECTION if the target can't be reached or is where you already are.
+	 */
+	public char getNextDirection(int from, int target) {
+		return getDownhillDirection(getDistanceField(target), from);
+	}
+
+	/**
+	 * Gives the direction to move in to get one step closer to the nearest tile holding an item (e.g. 'G' or 'E').
+	 *
+	 * @param from : The position (see Map.toPosition()) to move from.
+	 * @param item : The tile character to go to.
+	 * @return 'N', 'S', 'E' or 'W', or NO_DIRECTION if there is no such tile that can be reached, or you're already on one.
+	 */
+	public char getNextDirectionToItem(int from, char item) {
+		return getDownhillDirection(getDistanceFieldToItem(item), from);
+	}
+
+	/**
+	 * @param from : The position (see Map.toPosition()) to measure from.
+	 * @param target : The position to measure to.
+	 * @return The number of moves on a shortest path between the tiles, or UNREACHABLE.
+	 */
+	public int getDistance(int from, int target) {
+		return getDistanceField(target)[from];
+	}
+
+	/**
+	 * @param target : The position (see Map.toPosition()) to get the field for.
+	 * @return For every position on the map the number of moves to the target, or UNREACHABLE.
+	 */
+	public int[] getDistanceField(int target) {
+		return getField(target, '\0');
+	}
+
+	/**
+	 * @param item : The tile character to get the field for.
+	 * @return For every position on the map the number of moves to the nearest tile with the item, or UNREACHABLE.
+	 */
+	public int[] getDistanceFieldToItem(char item) {
+		return getField(-1 - item, item);
+	}
+
+	/**
+	 * Forgets all stored fields.
+	 */
+	public synchronized void clear() {
+		fields.clear();
+		usedBytes = 0;
+	}
+
+	/**
+	 * @return How many lookups found their field stored.
+	 */
+	public synchronized long getHits() {
+		return hits;
+	}
+
+	/**
+	 * @return How many lookups had to make their field.
+	 */
+	public synchronized long getMisses() {
+		return misses;
+	}
+
+	/**
+	 * Looks up a field, making (and storing) it if needed.
+	 *
+	 * @param key : The position of the target, or a negative number for an item.
+	 * @param item : The item character when the key is for an item.
+	 * @return The field.
+	 */
+	private synchronized int[] getField(int key, char item) {
+		dropOutdatedFields();
+		int[] field = fields.get(key);
+		if (field != null) {
+			hits ++;
+			return field;
+		}
+		misses ++;
+		field = key >= 0 ? makeField(key, '\0') : makeField(-1, item);
+		fields.put(key, field);
+		usedBytes += 4L * field.length;
+		// Throw away the least recently used fields, but never the one that was just made
+		Iterator<int[]> oldest = fields.values().iterator();
+		while (usedBytes > maxBytes && fields.size() > 1) {
+			usedBytes -= 4L * oldest.next().length;
+			oldest.remove();
+		}
+		return field;
+	}
+
+	/**
+	 * Forgets the fields that the map has made outdated since they were made.
+	 */
+	private void dropOutdatedFields() {
+		if (map.getLayoutVersion() != layoutVersion) {
+			clear();
+		}
+		else if (map.getItemVersion() != itemVersion) {
+			Iterator<java.util.Map.Entry<Integer, int[]>> entries = fields.entrySet().iterator();
+			while (entries.hasNext()) {
+				java.util.Map.Entry<Integer, int[]> entry = entries.next();
+				if (entry.getKey() < 0) {
+					usedBytes -= 4L * entry.getValue().length;
+					entries.remove();
+				}
+			}
+		}
+		layoutVersion = map.getLayoutVersion();
+		itemVersion = map.getItemVersion();
+	}
+
+	/**
+	 * Runs a breadth-first search outwards from the target tile, or from every tile holding the item at once.
+	 *
+	 * @param target : The position to start from, or -1 to start from the item tiles.
+	 * @param item : The item character to start from when target is -1.
+	 * @return The distance of every tile to the start tile(s).
+	 */
+	private int[] makeField(int target, char item) {
+		int height = map.getHeight();
+		int width = map.getWidth();
+		// The last position is the bottom right corner of the border
+		int[] distance = new int[map.toPosition(height, width) + 1];
+		Arrays.fill(distance, UNREACHABLE);
+		// Every tile is added to the queue at most once, so a queue with room for every position never runs out
+		int[] queue = new int[distance.length];
+		int tail = 0;
+		// Gold and exits are indexed by the map, so there is no need to go over every tile to find them
+		int[] itemPositions = target >= 0 ? null : map.getItemPositions(item);
+		if (target >= 0) {
+			if (target < distance.length && map.isWalkable(target)) {
+				distance[target] = 0;
+				queue[tail++] = target;
+			}
+		}
+		else if (itemPositions != null) {
+			for (int position : itemPositions) {
+				distance[position] = 0;
+				queue[tail++] = position;
+			}
+		}
+		else {
+			for (int i = 0; i < height; ++i) {
+				for (int j = 0; j < width; ++j) {
+					int position = map.toPosition(i, j);
+					if (map.getItemAtPosition(position) == item) {
+						distance[position] = 0;
+						queue[tail++] = position;
+					}
+				}
+			}
+		}
+		for (int head = 0; head < tail; ++head) {
+			int node = queue[head];
+			for (int d = 0; d < 4; ++d) {
+				// The border is a wall, so a step off the map is never taken
+				int next = node + offsets[d];
+				if (distance[next] == UNREACHABLE && map.isWalkable(next)) {
+					distance[next] = distance[node] + 1;
+					queue[tail++] = next;
+				}
+			}
+		}
+		return distance;
+	}
+
+	/**
+	 * Picks the neighbour that is one step closer to the target in a field.
+	 *
+	 * @param field : The distance field to follow.
+	 * @param from : The position to move from.
+	 * @return The direction of that neighbour, or NO_DIRECTION.
+	 */
+	private char getDownhillDirection(int[] field, int from) {
+		int distance = field[from];
+		if (distance <= 0) {
+			return NO_DIRECTION;
+		}
+		for (int d = 0; d < 4; ++d) {
+			// The border around the map is never reached by a field, so a step off the map is never downhill
+			if (field[from + offsets[d]] == distance - 1) {
+				return DIRECTIONS[d];
+			}
+		}
+		return NO_DIRECTION;
+	}
+}
@@ -0,0 +1,132 @@
+import java.util.Arrays;
+
+/**
+ * Keeps track of every {@link Player} in a game and where they are, so that a game can have any number of bots.
+ * <p>
+ * Every player is an entity with a number: the human player is always entity HUMAN (0) and the bots are 1, 2, 3 and so on.
+ * What is known about the entities is stored as one array per kind of data (players, positions and what they saw the last time they looked)
+ * rather than as one object per entity, so that e.g. looking for a bot at some position only goes through one int array.
+ *
+ * @author Jiri Swen
+ * @version 1.0
+ * @release 16/10/2026
+ * @see {@link GameLogic.java}
+ * @see {@link TurnScheduler.java}
+ */
+public class EntityRegistry {
+
+	// The number of the human player, who is always added first
+	public static final int HUMAN = 0;
+
+	// The player of every entity
+	private Player[] players = new Player[4];
+	// The position (see Map.toPosition()) of every entity, or Coordinates.NONE before it has been spawned
+	private int[] positions = new int[4];
+	// What every entity saw the last time it looked, filled in again every LOOK instead of making new arrays
+	private char[][][] views = new char[4][][];
+	// The number of entities
+	private int size;
+
+	/**
+	 * Adds a player to the game, which is not on the map until it has been given a position.
+	 *
+	 * @param player : The player to add (the first one added being the human player).
+	 * @return The number of the new entity.
+	 */
+	public int add(Player player) {
+		if (size == players.length) {
+			players = Arrays.copyOf(players, size * 2);
+			positions = Arrays.copyOf(positions, size * 2);
+			views = Arrays.copyOf(views, size * 2);
+		}
+		players[size] = player;
+		positions[size] = Coordinates.NONE;
+		return size++;
+	}
+
+	/**
+	 * @return The number of entities, i.e. the human player and all bots.
+	 */
+	public int size() {
+		return size;
+	}
+
+	/**
+	 * @param entity : The number of an entity.
+	 * @return Whether it is one of the bots, i.e. not the human player.
+	 */
+	public boolean isBot(int entity) {
+		return entity != HUMAN;
+	}
+
+	/**
+	 * @param entity : The number of an entity.
+	 * @return Its player.
+	 */
+	public Player getPlayer(int entity) {
+		return players[entity];
+	}
+
+	/**
+	 * @param player : A player in the game.
+	 * @return The number of its entity, or -1 if the player is not in the game.
+	 */
+	public int indexOf(Player player) {
+		for (int i = 0; i < size; ++i) {
+			if (players[i] == player) {
+				return i;
+			}
+		}
+		return -1;
+	}
+
+	/**
+	 * @param entity : The number of an entity.
+	 * @return Its position (see Map.toPosition()).
+	 */
+	public int getPosition(int entity) {
+		return positions[entity];
+	}
+
+	/**
+	 * @param entity : The number of an entity.
+	 * @param position : Its new position (see Map.toPosition()).
+	 */
+	public void setPosition(int entity, int position) {
+		positions[entity] = position;
+	}
+
+	/**
+	 * Takes every entity off the map, e.g. before they are spawned for a new game.
+	 */
+	public void clearPositions() {
+		Arrays.fill(positions, 0, size, Coordinates.NONE);
+	}
+
+	/**
+	 * @param position : The position (see Map.toPosition()) to look at.
+	 * @return The number of the first bot at the position, or -1 if there is none.
+	 */
+	public int findBotAt(int position) {
+		for (int i = HUMAN + 1; i < size; ++i) {
+			if (positions[i] == position) {
+				return i;
+			}
+		}
+		return -1;
+	}
+
+	/**
+	 * Gives the array to put what an entity sees in when it looks, which is the same array every time for the same size.
+	 *
+	 * @param entity : The number of an entity.
+	 * @param size : The width and height of the area it sees.
+	 * @return The array for the entity.
+	 */
+	public char[][] getView(int entity, int size) {
+		if (views[entity] == null || views[entity].length != size) {
+			views[entity] = new char[size][size];
+		}
+		return views[entity];
+	}
+}
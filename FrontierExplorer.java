@@ -0,0 +1,168 @@
+/**
+ * Finds the way to the closest part of the map that a {@link Bot} hasn't seen yet, so it explores the map rather than wandering around at random.
+ * <p>
+ * The tiles the bot has seen are in its {@link WorldMemory}, and the edge of what it has seen (the frontier)
+ * is every floor tile that it has seen next to a tile that it hasn't. A single breadth-first search from the bot
+ * over the floor it has seen reaches the closest of those first, and every tile the search reaches remembers
+ * which way the search came onto it, so the whole way there is known as soon as the frontier is.
+ * <p>
+ * The search only goes through the area around the bot (the memory itself has no edges), with arrays for that area
+ * that are made once and reused, so a search doesn't create anything. A tile on the edge of the area that can still be walked out of
+ * counts as frontier as well, since the search can't tell what lies beyond it.
+ * <p>
+ * The way that was found is kept, and as long as nothing in the memory changes (see WorldMemory.getVersion())
+ * and the bot keeps to it, the next steps are just read from it instead of being searched for again.
+ * Finding out that there is nothing left to explore is kept as well, since nothing changes that until the bot sees something new.
+ * An instance must only be used by one bot (or thread) at a time.
+ *
+ * @author Jiri Swen
+ * @version 1.0
+ * @release 16/10/2026
+ * @see {@link Bot.java}
+ * @see {@link WorldMemory.java}
+ */
+public class FrontierExplorer {
+
+	// The directions to try going in from a tile, in the same order the {@link BitboardPathfinder} picks its steps in
+	private static final char[] DIRECTIONS = new char[] {'W', 'E', 'N', 'S'};
+	private static final int[] ROW_STEPS = new int[] {0, 0, -1, 1};
+	private static final int[] COLUMN_STEPS = new int[] {-1, 1, 0, 0};
+	// Marks the tile the search starts on, which wasn't come onto from anywhere
+	private static final byte START = 5;
+
+	// How many tiles the area goes in every direction from the bot, and how wide and high it is
+	private final int radius;
+	private final int size;
+	// For every tile of the area (row * size + column): 0 if the search hasn't reached it, otherwise the step that was taken onto it + 1 (or START)
+	private final byte[] cameFrom;
+	// The tiles the search has reached, in the order it reached them
+	private final int[] queue;
+
+	// The way to the frontier that was found last: the steps (indexes in DIRECTIONS) and how many of them there are
+	private final byte[] path;
+	private int pathLength;
+	// How many steps of the way the bot has taken, and the tile it is on if it has taken them
+	private int pathIndex;
+	private int pathRow;
+	private int pathColumn;
+	// The version of the memory the way (or finding there is no frontier at all) was worked out for, or -1 before the first search
+	private long pathVersion = -1;
+
+	/**
+	 * @param radius : How many tiles the search may go away from the bot in every direction.
+	 * @exception IllegalArgumentException : If the radius is less than 1.
+	 */
+	public FrontierExplorer(int radius) {
+		if (radius < 1) {
+			throw new IllegalArgumentException("An explorer has to be able to look at least 1 tile away.");
+		}
+		this.radius = radius;
+		size = 2 * radius + 1;
+		cameFrom = new byte[size * size];
+		queue = new int[size * size];
+		path = new byte[size * size];
+	}
+
+	/**
+	 * Finds the first step towards the closest tile of the frontier.
+	 *
+	 * @param memory : What the bot has seen of the map.
+	 * @param row : The row the bot is on (in the memory).
+	 * @param column : The column the bot is on.
+	 * @return The direction to move in, or 'X' if the bot has seen every tile it can get to in the area.
+	 */
+	public char findDirection(WorldMemory memory, int row, int column) {
+		if (pathVersion == memory.getVersion()) {
+			if (pathLength == 0) {
+				// Every tile the bot could get to was searched without finding the frontier, and it can't have got anywhere else since
+				return 'X';
+			}
+			// The bot took the step it was given last time
+			if (pathIndex < pathLength && row == pathRow + ROW_STEPS[path[pathIndex]] && column == pathColumn + COLUMN_STEPS[path[pathIndex]]) {
+				pathRow = row;
+				pathColumn = column;
+				pathIndex ++;
+			}
+			if (pathIndex < pathLength && row == pathRow && column == pathColumn) {
+				return DIRECTIONS[path[pathIndex]];
+			}
+		}
+		search(memory, row, column);
+		pathVersion = memory.getVersion();
+		pathIndex = 0;
+		pathRow = row;
+		pathColumn = column;
+		return pathLength == 0 ? 'X' : DIRECTIONS[path[0]];
+	}
+
+	/**
+	 * Searches for the closest tile of the frontier and stores the way there in path.
+	 *
+	 * @param memory : What the bot has seen of the map.
+	 * @param row : The row the bot is on (in the memory).
+	 * @param column : The column the bot is on.
+	 */
+	private void search(WorldMemory memory, int row, int column) {
+		int start = radius * size + radius;
+		cameFrom[start] = START;
+		queue[0] = start;
+		int head = 0;
+		int tail = 1;
+		pathLength = 0;
+		search:
+		while (head < tail) {
+			int tile = queue[head ++];
+			int tileRow = tile / size;
+			int tileColumn = tile % size;
+			for (int i = 0; i < DIRECTIONS.length; ++i) {
+				int nextRow = tileRow + ROW_STEPS[i];
+				int nextColumn = tileColumn + COLUMN_STEPS[i];
+				if (nextRow < 0 || nextRow >= size || nextColumn < 0 || nextColumn >= size) {
+					// (Can't happen for the start, as the area goes at least 1 tile in every direction)
+					storePath(tile, -1);
+					break search;
+				}
+				int next = nextRow * size + nextColumn;
+				if (cameFrom[next] != 0) {
+					continue;
+				}
+				int state = memory.getTile(row - radius + nextRow, column - radius + nextColumn);
+				if (state == WorldMemory.UNSEEN) {
+					storePath(tile, i);
+					break search;
+				}
+				if (state == WorldMemory.FLOOR) {
+					cameFrom[next] = (byte) (i + 1);
+					queue[tail ++] = next;
+				}
+			}
+		}
+		// Only the tiles that were reached have to be cleared for the next search
+		for (int i = 0; i < tail; ++i) {
+			cameFrom[queue[i]] = 0;
+		}
+	}
+
+	/**
+	 * Walks back from the tile the search ended at to the start, storing the steps in the order the bot is to take them.
+	 *
+	 * @param end : The tile of the frontier that was found.
+	 * @param lastStep : The step from there onto a tile that hasn't been seen, or -1 if there is none.
+	 */
+	private void storePath(int end, int lastStep) {
+		int length = 0;
+		for (int tile = end; cameFrom[tile] != START; ++length) {
+			int step = cameFrom[tile] - 1;
+			tile -= ROW_STEPS[step] * size + COLUMN_STEPS[step];
+		}
+		pathLength = lastStep < 0 ? length : length + 1;
+		if (lastStep >= 0) {
+			path[length] = (byte) lastStep;
+		}
+		for (int tile = end, i = length - 1; i >= 0; --i) {
+			int step = cameFrom[tile] - 1;
+			path[i] = (byte) step;
+			tile -= ROW_STEPS[step] * size + COLUMN_STEPS[step];
+		}
+	}
+}
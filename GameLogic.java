@@ -2,6 +2,8 @@ import java.io.IOException;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Arrays;
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
 
 /**
  * Contains the main logic part of the game, as it processes.
@@ -12,60 +14,110 @@ import java.util.Arrays;
  * @see {@link Map.java}
  * @see {@link HumanPlayer.java}
  * @see {@link Bot.java}
+ * @see {@link GameResult.java}
  */
 public class GameLogic {
 	
-	// Objects for the map, human player and bot to be used in the game
+	// Objects for the map and human player to be used in the game
 	private Map map;
 	private Player humanPlayer;
-	private Player botPlayer;
+	// Every player in the game (the human player and any number of bots) and where they are
+	private final EntityRegistry entities = new EntityRegistry();
+	// The random numbers of this game (where players spawn), so that games don't share a random generator and can be replayed
+	private SplittableRandom random = new SplittableRandom();
+	// Asks all bots what they want to do every turn
+	private TurnScheduler scheduler = new TurnScheduler();
+	// Where the messages of the game (and the whole map when testing) are shown
+	private OutputSink output = new OutputSink(System.out);
 
 	// Keeps track of whether the game is running
 	private boolean gameRunning = false;
 
 	// Keeps track of how much gold the player owns
 	private int goldOwned;
+	// Keeps track of how many turns (one action of the human player and one of the bot) have been started
+	private int turnsPlayed;
+	// How the game ended, or null while it is still going
+	private GameResult.Outcome outcome;
 	
-	// These keep track of the coordinates of the bot and player to compare against things
-	// COORDINATES ARE ALWAYS STORED LIKE THIS: [ROW][COLUMN] / [line][characterInLine] so can be considered [y][x]
-	private int[] botCoords;
-	private int[] playerCoords;
-	// Used for temporary storage of new coordinates to test agains old ones / to subject to if something is possible
-	private int[] newCoords; 
+	// The coordinates of the bots and player to compare against things are kept in the entities (see EntityRegistry.getPosition())
+	// COORDINATES ARE ALWAYS STORED AS ONE INT (see Map.toPosition()) SO MOVING AROUND NEVER ALLOCATES ANYTHING:
+	// use map.getRow() / map.getColumn() to get [ROW][COLUMN] / [line][characterInLine] back, which can be considered [y][x]
+
+	// How far the human player can see when they LOOK (2 gives the usual 5x5 area)
+	private int lookRadius = 2;
+	// The bots always get the 5x5 area around them, as that is the size of the grid they remember
+	private static final int BOT_LOOK_RADIUS = 2;
+
+	// How long a turn waits for the human player at most, in milliseconds, or 0 to always wait until they do something
+	private long tickMillis = 0;
+
+	// The fewest moves (if there were no walls) the bot has to be away from the human player when it spawns
+	private int minimumSpawnDistance = 1;
+	// How many random tiles are tried for the bot before going through all of them for one that is far enough away
+	private static final int SPAWN_ATTEMPTS = 32;
 	
 	/**
 	 * Default constructor for the game
 	 */
 	public GameLogic() {
-		humanPlayer = new HumanPlayer();
-		botPlayer = new Bot();
+		this(new OutputSink(System.out));
+	}
+
+	/**
+	 * Constructor for a game at the command line that shows everything through one sink.
+	 *
+	 * @param output : Where to show everything, or OutputSink.DISABLED to play without showing anything (e.g. to time a replay).
+	 */
+	public GameLogic(OutputSink output) {
+		this.output = output;
+		humanPlayer = new HumanPlayer(output);
+		entities.add(humanPlayer);
+		entities.add(new Bot());
 		getCustomMap();
 	}
 
+	/**
+	 * Constructor for a game that doesn't need anyone at the command line, e.g. to simulate games with {@link BatchSimulator}.
+	 * Each game changes its map (by picking up gold), so every game needs its own (copy of a) map.
+	 *
+	 * @param map : The map to play on.
+	 * @param humanPlayer : The player that tries to collect the gold and escape (e.g. a {@link ScriptedPlayer}).
+	 * @param botPlayers : The players that try to catch the human player (usually just the one {@link Bot}).
+	 */
+	public GameLogic(Map map, Player humanPlayer, Player... botPlayers) {
+		this.map = map;
+		this.humanPlayer = humanPlayer;
+		entities.add(humanPlayer);
+		for (Player botPlayer : botPlayers) {
+			entities.add(botPlayer);
+		}
+	}
+
 	/**
 	 * Has the player type in the map they want to play, then constructs {@link Map} based on this.
 	 *
 	 * @exception Just uses the default map in case e.g. the map name was not recognised.
 	 */
 	protected void getCustomMap() {
-		System.out.println("\nPlease input the name of the map you want to play, or type nothing to play the default map.\n");
+		output.println("\nPlease input the name of the map you want to play, or type nothing to play the default map.\n");
 		String fileName = humanPlayer.getNextCommand();
 		if (fileName.isEmpty()) {
 			map = new Map();
-			System.out.println("\nDefault map created: \"" + map.getMapName() + "\"\nGold required to leave dungeon: 2\n");
+			output.println("\nDefault map created: \"" + map.getMapName() + "\"\nGold required to leave dungeon: 2\n");
 		}
 		else {
 			try {
-				// Coded so that you can input the file name with or without '.txt'
-				if (! fileName.contains(".txt")) {
+				// Coded so that you can input the file name with or without '.txt' (binary maps need their extension)
+				if (! fileName.contains(".txt") && ! fileName.endsWith(BinaryMapFormat.EXTENSION)) {
 					map = new Map(fileName + ".txt");
-					System.out.println("\nMap \"" + fileName + "\" created:");
+					output.println("\nMap \"" + fileName + "\" created:");
 				}
 				else {
 					map = new Map(fileName);
-					System.out.println("\nMap \"" + fileName.replace(".txt", "") + "\" created:");
+					output.println("\nMap \"" + fileName.replace(".txt", "") + "\" created:");
 				}
-				System.out.print("\"" + map.getMapName() + "\"\nGold required to leave dungeon: " + map.getGoldRequired() + "\n");
+				output.append("\"" + map.getMapName() + "\"\nGold required to leave dungeon: " + map.getGoldRequired() + "\n").flush();
 			}
 			catch (Exception e) {
 				System.err.println("\nSomething went wrong in the initialisation of the map, so the default map has been used (gold required to win: 2).\nPlease check the validity of your chosen map file.");
@@ -76,7 +128,7 @@ public class GameLogic {
 			}
 		}
 
-		System.out.println("See what commands you can use by typing \"COMMANDS\".\n");
+		output.println("See what commands you can use by typing \"COMMANDS\".\n");
 	}
 
 /*
@@ -95,59 +147,99 @@ ______                      _                  _    _
 	 * then keeps asking the player and bot what they want to do in turns until the game ends.
 	 */
 	protected void runGame() {
-		gameRunning = true;
-		goldOwned = 0;
-		playerCoords = new int[2];
-		botCoords = new int[2];
+		playGame(0);
+	}
+
+	/**
+	 * Plays a whole game: sets some variables relevant to running the game,
+	 * then keeps asking the player and bot what they want to do in turns until the game ends
+	 * or the maximum number of turns has been played.
+	 *
+	 * @param maxTurns : The number of turns after which the game is stopped, or 0 to play until someone wins or quits.
+	 * @return How the game ended.
+	 */
+	protected GameResult playGame(int maxTurns) {
+		startGame();
 
-		playerCoords = spawnPlayerCoords(humanPlayer);
-		botCoords = spawnPlayerCoords(botPlayer);
+		Command action;
+		while (gameRunning) {
+			if (maxTurns > 0 && turnsPlayed >= maxTurns) {
+				endGame(GameResult.Outcome.TURN_LIMIT);
+				break;
+			}
+			turnsPlayed ++;
 
-		String input;
-		while (true) {
-			input = humanPlayer.getNextAction();
-			switch (input) {
-				case "HELLO":
+			action = tickMillis > 0 ? humanPlayer.pollAction(tickMillis) : humanPlayer.getAction();
+			// The human player didn't do anything in time, so the turn goes by without them
+			if (action == null) {
+				action = Command.PASS;
+			}
+			switch (action) {
+				case HELLO:
 					humanPlayer.passResult(hello());
 					break;
-				case "LOOK":
-					humanPlayer.passArray(lookArray(playerCoords));
+				case LOOK:
+					humanPlayer.passArray(lookArray(getPlayerPosition(), lookRadius, entities.getView(EntityRegistry.HUMAN, 2 * lookRadius + 1)));
 					break;
-				case "PICKUP":
+				case PICKUP:
 					humanPlayer.passResult(pickup());
 					break;
-				case "QUIT":
+				case QUIT:
 					quitGame();
 					break;
-				case "PASS":
-				case "COMMANDS":
+				default:
 					break;
 			}
 			// Always tries to move and the movePlayer() method assesses whether it's relevant
-			movePlayer(input, humanPlayer);
+			movePlayer(action, EntityRegistry.HUMAN);
+			if (! gameRunning) {
+				break;
+			}
 
-			input = botPlayer.getNextAction();
-			if (input == "LOOK") {
-				botPlayer.passArray(lookArray(botCoords));
+			// All bots decide what to do first, then their actions are carried out in the order of their numbers
+			Command[] botActions = scheduler.collectActions(entities);
+			for (int bot = EntityRegistry.HUMAN + 1; bot < entities.size() && gameRunning; ++bot) {
+				if (botActions[bot] == Command.LOOK) {
+					entities.getPlayer(bot).passArray(lookArray(entities.getPosition(bot), BOT_LOOK_RADIUS, entities.getView(bot, 2 * BOT_LOOK_RADIUS + 1)));
+				}
+				movePlayer(botActions[bot], bot);
 			}
-			movePlayer(input, botPlayer);
 			// Useful to turn this on if you want to see what happens behind the scenes every turn!!
 			//printWholeMap();
 		}
+		return new GameResult(outcome, turnsPlayed, goldOwned);
 	}
 
 
 	/**
 	 * Tries to move a {@link Player} based on their command and processes it to be used by move().
 	 * 
-	 * @param input : The raw input from the player.
-	 * @param movingPlayer : The player whose turn it currently is.
+	 * @param action : The command from the player.
+	 * @param entity : The number (see {@link EntityRegistry}) of the player whose turn it currently is.
 	 */
-	protected void movePlayer(String input, Player movingPlayer) {
-		if (input.contains("MOVE ")) {
-			String[] direction = input.split("MOVE ");
-			char directionInput = direction[1].charAt(0);
-			movingPlayer.passResult(move(directionInput, movingPlayer));
+	protected void movePlayer(Command action, int entity) {
+		if (action.isMove()) {
+			MoveResult result = move(action.getDirection(), entity);
+			// When the move ended the game the players have already been told how it ended
+			if (gameRunning) {
+				entities.getPlayer(entity).passMoveResult(result);
+			}
+		}
+	}
+
+	/**
+	 * Sets some variables relevant to running the game and spawns the players,
+	 * without asking anyone for anything yet (which is also handy for measuring single methods in {@link Benchmarks}).
+	 */
+	protected void startGame() {
+		gameRunning = true;
+		goldOwned = 0;
+		turnsPlayed = 0;
+		outcome = null;
+		entities.clearPositions();
+
+		for (int i = 0; i < entities.size(); ++i) {
+			entities.setPosition(i, spawnPlayerPosition(entities.getPlayer(i)));
 		}
 	}
 
@@ -159,26 +251,138 @@ ______                      _                  _    _
 	}
 
 	/**
-	 * Generates random coordinates within the map to spawn a {@link Player} at.
+	 * Sets how far the human player can see when they LOOK, from the next game on.
+	 *
+	 * @param radius : How many tiles the human player can see in every direction (2 gives the usual 5x5 area).
+	 * @exception IllegalArgumentException : If the radius is negative.
+	 */
+	protected void setLookRadius(int radius) {
+		if (radius < 0) {
+			throw new IllegalArgumentException("The look radius can't be negative.");
+		}
+		lookRadius = radius;
+	}
+
+	/**
+	 * Plays the game in ticks: every turn waits at most this long for the human player,
+	 * and if they haven't done anything by then they PASS and the bots go on without them.
+	 *
+	 * @param millis : The length of a tick in milliseconds, or 0 to wait for the human player every turn (the default).
+	 * @exception IllegalArgumentException : If the length is negative.
+	 */
+	protected void setTickMillis(long millis) {
+		if (millis < 0) {
+			throw new IllegalArgumentException("A tick can't be shorter than no time at all.");
+		}
+		tickMillis = millis;
+	}
+
+	/**
+	 * Sets how far away from the human player the bot spawns, from the next game on.
+	 * On a map that is too small for the distance the bot spawns as far away as it can instead.
+	 *
+	 * @param distance : The fewest moves (if there were no walls) between the two players (1 only keeps them off the same tile).
+	 * @exception IllegalArgumentException : If the distance is less than 1.
+	 */
+	protected void setMinimumSpawnDistance(int distance) {
+		if (distance < 1) {
+			throw new IllegalArgumentException("The players can't spawn on the same tile.");
+		}
+		minimumSpawnDistance = distance;
+	}
+
+	/**
+	 * Sets where the messages of the game and the whole map (see printWholeMap()) are shown.
+	 * The human player shows what they get through their own sink (see {@link HumanPlayer}).
+	 *
+	 * @param output : Where to show them, or OutputSink.DISABLED to not show them at all.
+	 */
+	protected void setOutput(OutputSink output) {
+		this.output = output;
+	}
+
+	/**
+	 * Sets the random numbers the players are spawned with, from the next game on.
+	 * Together with bots and players that were given random numbers split() from the same generator, a game plays out exactly the same every time.
+	 *
+	 * @param random : The random numbers of the game.
+	 */
+	protected void setRandom(SplittableRandom random) {
+		this.random = random;
+	}
+
+	/**
+	 * Lets the bots decide what to do at the same time on a pool of threads (see {@link TurnScheduler}),
+	 * which is worth it once there are many of them. Their actions are still carried out one at a time in the same order.
+	 *
+	 * @param pool : The threads to use, or null to let the bots decide one after the other.
+	 */
+	protected void setPlanningPool(ForkJoinPool pool) {
+		scheduler = new TurnScheduler(pool);
+	}
+
+	/**
+	 * @return The position (see Map.toPosition()) of the human player.
+	 */
+	protected int getPlayerPosition() {
+		return entities.getPosition(EntityRegistry.HUMAN);
+	}
+
+	/**
+	 * @return The position (see Map.toPosition()) of the (first) bot.
+	 */
+	protected int getBotPosition() {
+		return entities.getPosition(EntityRegistry.HUMAN + 1);
+	}
+
+	/**
+	 * @return All players in the game and where they are.
+	 */
+	protected EntityRegistry getEntities() {
+		return entities;
+	}
+
+	/**
+	 * Picks a random position within the map to spawn a {@link Player} at, out of the tiles the map has worked out they can spawn on
+	 * (see {@link SpawnPoints}), so it never has to keep trying random coordinates until one isn't a wall.
 	 * 
 	 * @param Player to spawn.
-	 * @return Coordinates that the player will be spawned at.
+	 * @return Position that the player will be spawned at.
+	 * @exception IllegalStateException : If there is no tile for the player to spawn on.
 	 */
-	protected int[] spawnPlayerCoords(Player player) {
-		while (true) {
-			// Y and X coordinates are calculated independently based on the height/width of the map
-			newCoords = new int[] {(int) (Math.random() * map.getMapSize()[0]), (int) (Math.random() * map.getMapSize()[1])};
-			// Spawning must not happen in a wall, so it keeps trying until this doesn't happen
-			if (map.getItemAtCoordinate(newCoords) != '#') {
-				if (! (player instanceof HumanPlayer)) {
-					return newCoords;
-				}
-				// Human player can't spawn on Gold tile
-				else if (map.getItemAtCoordinate(newCoords) != 'G') {
-					return newCoords;
-				}
+	protected int spawnPlayerPosition(Player player) {
+		// Spawning must not happen in a wall, and the human player can't spawn on Gold tile
+		SpawnPoints spawnPoints = map.getSpawnPoints(player != humanPlayer);
+		int playerPosition = getPlayerPosition();
+		if (spawnPoints.size() == 0 || (player != humanPlayer && spawnPoints.size() == 1 && spawnPoints.get(0) == playerPosition)) {
+			throw new IllegalStateException("Your chosen map has no room to spawn every player.");
+		}
+		if (player == humanPlayer || playerPosition == Coordinates.NONE) {
+			return spawnPoints.pick(random);
+		}
+		// The bot can't spawn too close to the human player (who has been spawned already)
+		for (int attempt = 0; attempt < SPAWN_ATTEMPTS; ++attempt) {
+			int newPosition = spawnPoints.pick(random);
+			if (map.getDistance(newPosition, playerPosition) >= minimumSpawnDistance) {
+				return newPosition;
 			}
 		}
+		// Almost every tile is too close, so go through all of them (from a random one on) for one that isn't, or else the furthest one
+		int start = random.nextInt(spawnPoints.size());
+		int furthestPosition = Coordinates.NONE;
+		int furthestDistance = -1;
+		for (int i = 0; i < spawnPoints.size(); ++i) {
+			int newPosition = spawnPoints.get((start + i) % spawnPoints.size());
+			int distance = map.getDistance(newPosition, playerPosition);
+			if (distance >= minimumSpawnDistance) {
+				return newPosition;
+			}
+			if (distance > furthestDistance) {
+				furthestDistance = distance;
+				furthestPosition = newPosition;
+			}
+		}
+		return furthestPosition;
 	}
 
  /**
@@ -218,101 +422,121 @@ ______                      _                  _    _
 	 * @param direction : The direction of the movement.
 	 * @param player : Which player instance is currently moving.
 	 * @return Protocol if success or not.
-	 * @exception ArrayIndexOutOfBoundsException : If player tries to move outside of the map.
 	 * @exception RuntimeException : If somehow a player that is not in the game tries to move.
 	 */
-	protected String move(char direction, Player player) {
-		int[] oldCoords;
-		if (player instanceof HumanPlayer) {
-			oldCoords = playerCoords;
-		}
-		else if (player instanceof Bot) {
-			oldCoords = botCoords;
-		}
-		else {
+	protected MoveResult move(char direction, Player player) {
+		int entity = entities.indexOf(player);
+		if (entity < 0) {
 			throw new RuntimeException();
 		}
-		switch (direction) {
-			case 'N':
-				newCoords = new int[] {oldCoords[0] - 1, oldCoords[1]};
-				break;
-			case 'S':
-				newCoords = new int[] {oldCoords[0] + 1, oldCoords[1]};
-				break;
-			case 'E':
-				newCoords = new int[] {oldCoords[0], oldCoords[1] + 1};
-				break;
-			case 'W':
-				newCoords = new int[] {oldCoords[0], oldCoords[1] - 1};
-				break;
+		return move(direction, entity);
+	}
+
+ /**
+	 * Checks if movement is legal and updates the location of an entity (see {@link EntityRegistry}) on the map.
+	 * Also checks whether the conditions to end the game have been met.
+	 *
+	 * @param direction : The direction of the movement.
+	 * @param entity : The number of the player that is currently moving.
+	 * @return Protocol if success or not.
+	 */
+	protected MoveResult move(char direction, int entity) {
+		int newPosition = map.getNeighbour(entities.getPosition(entity), direction);
+		// If tile player tries to move to is outside of the map (e.g. if edge is not hashed)
+		if (newPosition == Coordinates.NONE) {
+			return MoveResult.FAIL;
 		}
-		try {
-			if (map.getItemAtCoordinate(newCoords) == 'E' && goldOwned >= map.getGoldRequired() && player instanceof HumanPlayer) {
+		boolean isBot = entities.isBot(entity);
+		if (! isBot && map.isExit(newPosition) && goldOwned >= map.getGoldRequired()) {
 			endGameSuccess();
-			return "MOVE_SUCCESS_ENDGAME";
-			}
-		}
-		// If tile player tries to move to is outside of the map (e.g. if edge is not hashed)
-		catch (ArrayIndexOutOfBoundsException e) {
-			return "MOVE_FAIL";
+			return MoveResult.SUCCESS_ENDGAME;
 		}
-		if (map.getItemAtCoordinate(newCoords) == '#') {
-			return "MOVE_FAIL";
+		if (! map.isWalkable(newPosition)) {
+			return MoveResult.FAIL;
 		}
 		else {
-			if (player instanceof HumanPlayer) {
-				playerCoords = newCoords;
-			}
-			else if (player instanceof Bot) {
-				botCoords = newCoords;
-			}
-			else {
-				throw new RuntimeException();
-			}
-			// You die when you're on the same spot as the bot
-			if (Arrays.equals(playerCoords, botCoords)) {
+			entities.setPosition(entity, newPosition);
+			// You die when you're on the same spot as a bot
+			if (isBot ? newPosition == getPlayerPosition() : entities.findBotAt(newPosition) >= 0) {
 				endGameFail();
-				return "MOVE_FAIL";
+				return MoveResult.FAIL;
 			}
-			return "MOVE_SUCCESS";
+			return MoveResult.SUCCESS;
 		}
 	}
 
+  /**
+   * Looks at the usual 5x5 area around a player, in a new array.
+   * 
+   * @param Position (see Map.toPosition()) to use as centre for the area to look at.
+   * @return A 5x5 array for the {@link Player} to process.
+   */
+	protected char[][] lookArray(int centrePosition) {
+		return lookArray(centrePosition, 2, new char[5][5]);
+	}
+
   /**
    * Improved version of look(): look at the area around a player
    * Includes indication of the player when the bot is looking 
    * and indication of both player and bot when the player is looking.
+   * <p>
+   * The part of every row that is on the map is copied straight from it and only the rest is filled in with walls,
+   * so no single tile needs to be checked for being outside of the map.
    * 
-   * @param Coordinates to use as centre for the area to look at.
-   * @return A 5x5 array for the {@link Player} to process.
-   * @exception ArrayIndexOutOfBoundsException for the tiles that are outside of the map that the player tries to look at
+   * @param centrePosition : Position (see Map.toPosition()) to use as centre for the area to look at.
+   * @param radius : How many tiles to look in every direction: the area is 2 * radius + 1 tiles wide and high.
+   * @param destination : The array to fill in, which must be at least that size (and can be reused every LOOK).
+   * @return The destination array, for the {@link Player} to process.
    */
-	protected char[][] lookArray(int[] centreCoords) {
-		char[][] printMap = new char[5][5];
-		char[][] largeMap = map.getMap();
-		for (int i = 0; i < 5; ++i) {
-			for (int j = 0; j < 5; ++j) {
-				try {
-					//Prints a 'P' where the player is (i.e. in the centre or not in the centre when the bot is looking)
-					if ((i == 2 && j == 2 && centreCoords == playerCoords) || (centreCoords[0] - 2 + i == playerCoords[0] && centreCoords[1] - 2 + j == playerCoords[1])) {
-						printMap[i][j] = 'P';
-					}
-					// Prints a 'B' where the bot is if it's not the bot looking
-					else if ((centreCoords[0] - 2 + i == botCoords[0] && centreCoords[1] - 2 + j == botCoords[1]) && centreCoords != botCoords) {
-						printMap[i][j] = 'B';
-					}
-					else {
-						// Because the array square is 5x5 it goes from centreCoords - 2 to centreCoords + 2
-						printMap[i][j] = largeMap[centreCoords[0] - 2 + i][centreCoords[1] - 2 + j];
-					}
-				}
-				// Hash the space outside the map
-				catch (ArrayIndexOutOfBoundsException e) {
-					printMap[i][j] = '#';
-				}
+	protected char[][] lookArray(int centrePosition, int radius, char[][] destination) {
+		int size = 2 * radius + 1;
+		int centreRow = map.getRow(centrePosition);
+		int centreColumn = map.getColumn(centrePosition);
+		// The columns of the area that are on the map, and where the first of them goes in the destination
+		int firstColumn = Math.max(0, centreColumn - radius);
+		int endColumn = Math.min(map.getWidth(), centreColumn + radius + 1);
+		int offset = firstColumn - (centreColumn - radius);
+		for (int i = 0; i < size; ++i) {
+			int row = centreRow - radius + i;
+			// Hash the space outside the map
+			if (row < 0 || row >= map.getHeight()) {
+				Arrays.fill(destination[i], 0, size, '#');
+				continue;
 			}
+			Arrays.fill(destination[i], 0, offset, '#');
+			map.copyRow(row, firstColumn, destination[i], offset, endColumn - firstColumn);
+			Arrays.fill(destination[i], offset + endColumn - firstColumn, size, '#');
+		}
+		// Prints a 'B' where the bots are, except for the one that is looking
+		for (int bot = EntityRegistry.HUMAN + 1; bot < entities.size(); ++bot) {
+			if (entities.getPosition(bot) != centrePosition) {
+				markInArea(destination, centreRow - radius, centreColumn - radius, size, entities.getPosition(bot), 'B');
+			}
+		}
+		//Prints a 'P' where the player is (i.e. in the centre or not in the centre when a bot is looking)
+		markInArea(destination, centreRow - radius, centreColumn - radius, size, getPlayerPosition(), 'P');
+		return destination;
+	}
+
+	/**
+	 * Puts a character in an area that was looked at, if the position is inside of it.
+	 *
+	 * @param area : The area that was looked at.
+	 * @param firstRow : The row of the map at the top of the area.
+	 * @param firstColumn : The column of the map at the left of the area.
+	 * @param size : The width and height of the area.
+	 * @param position : The position (see Map.toPosition()) to mark.
+	 * @param mark : The character to put there.
+	 */
+	private void markInArea(char[][] area, int firstRow, int firstColumn, int size, int position, char mark) {
+		if (position == Coordinates.NONE) {
+			return;
+		}
+		int i = map.getRow(position) - firstRow;
+		int j = map.getColumn(position) - firstColumn;
+		if (i >= 0 && i < size && j >= 0 && j < size) {
+			area[i][j] = mark;
 		}
-		return printMap;
 	}
 
  /**
@@ -321,9 +545,10 @@ ______                      _                  _    _
 	 * @return If the player successfully picked-up gold or not.
 	 */
 	protected String pickup() {
-		if (map.getItemAtCoordinate(playerCoords) == 'G') {
+		int playerPosition = getPlayerPosition();
+		if (map.hasGold(playerPosition)) {
 			goldOwned ++;
-			map.removeItemAtCoordinate(playerCoords);
+			map.removeItemAtPosition(playerPosition);
 			return "SUCCESS. Gold owned: " + goldOwned + ".";
 		}
 		else {
@@ -332,32 +557,59 @@ ______                      _                  _    _
 	}
 
  /**
-	 * Quits the game, shutting down the application.
+	 * Quits the game.
 	 */
 	protected void quitGame() {
-		System.out.println("QUITTING GAME");
-		System.exit(0);
+		humanPlayer.passResult("QUITTING GAME");
+		endGame(GameResult.Outcome.QUIT);
 	}
 
 	/**
-	 * Quits the game when the player has exited the dungeon, printing a victory message.
+	 * Ends the game when the player has exited the dungeon, printing a victory message.
 	 */
 	protected void endGameSuccess() {
 		humanPlayer.passResult("Congratulations! You've exited the dungeon with enough treasure to last you a lifetime!");
-		System.exit(0);
+		endGame(GameResult.Outcome.ESCAPED);
 	}
 
 	/**
-	 * Quits the game when player was caught by the bot, displaying a game-over message.
+	 * Ends the game when player was caught by the bot, displaying a game-over message.
 	 */
 	protected void endGameFail() {
 		humanPlayer.passResult("Too bad, you got horribly ripped to death by the bot of terror.");
-		System.exit(0);
+		endGame(GameResult.Outcome.CAUGHT);
+	}
+
+	/**
+	 * Stops the game loop (instead of shutting down the application, so that many games can be played in one go).
+	 *
+	 * @param How the game ended.
+	 */
+	protected void endGame(GameResult.Outcome gameOutcome) {
+		outcome = gameOutcome;
+		gameRunning = false;
 	}
 
 	public static void main(String[] args) {
-		GameLogic g = new GameLogic();
+		// A number after "java GameLogic" plays the game in ticks of that many milliseconds
+		long tickMillis = 0;
+		if (args.length > 0) {
+			try {
+				tickMillis = Long.parseLong(args[0]);
+			}
+			catch (NumberFormatException e) {
+				tickMillis = -1;
+			}
+			if (tickMillis < 0) {
+				System.err.println("Usage: java GameLogic [milliseconds per tick, 0 to not use ticks] [quiet]");
+				return;
+			}
+		}
+		// "quiet" after the tick length plays the game without showing anything, e.g. to time how fast a file of commands is played
+		GameLogic g = args.length > 1 && args[1].equalsIgnoreCase("quiet") ? new GameLogic(OutputSink.DISABLED) : new GameLogic();
+		g.setTickMillis(tickMillis);
 		g.runGame();
+		System.exit(0);
 	}
 
 /*
@@ -372,26 +624,15 @@ ______                      _                  _    _
  These methods were used in the testing of the code and I thought it would be useful to keep them in in case needed for future testing. */
 
  	/**
- 	 * Prints the whole stored map with indications of where the player and bot are at.
+ 	 * Prints the whole stored map with indications of where the player and bots are at, all in one go.
  	 */
   protected void printWholeMap() {
   	char[][] printMap = map.getMap();
-  	for (int i = 0; i < printMap.length; ++i) {
-  		for (int j = 0; j < printMap[0].length; ++j) {
-  			if (i == playerCoords[0] && j == playerCoords[1]) {
-  				System.out.print('P');
-  			}
-  			else if (i == botCoords[0] && j == botCoords[1]) {
-  				System.out.print('B');
-  			}
-  			else {
-  				System.out.print(printMap[i][j]);
-  			}
-  			if (j == printMap[0].length - 1) {
-  				System.out.println("");
-  			}
-  		}
+  	for (int bot = EntityRegistry.HUMAN + 1; bot < entities.size(); ++bot) {
+  		printMap[map.getRow(entities.getPosition(bot))][map.getColumn(entities.getPosition(bot))] = 'B';
   	}
+  	printMap[map.getRow(getPlayerPosition())][map.getColumn(getPlayerPosition())] = 'P';
+  	output.appendRows(printMap).flush();
   }
 
   /**
@@ -400,13 +641,6 @@ ______                      _                  _    _
    * @param The array to print
    */
   protected void printArray(char[][] array) {
-  	for (int i = 0; i < array.length; ++i) {
-  		for (int j = 0; j < array.length; ++j) {
-  				System.out.print(array[i][j]);
-  			if (j == array.length - 1) {
-  				System.out.println("");
-  			}
-  		}
-  	}
+  	output.appendRows(array).flush();
   }
 }
\ No newline at end of file
@@ -0,0 +1,80 @@
+/**
+ * The result of one finished game, as returned by {@link GameLogic} instead of shutting down the application.
+ *
+ * @author Jiri Swen
+ * @version 1.0
+ * @release 16/10/2026
+ * @see {@link GameLogic.java}
+ * @see {@link BatchSimulator.java}
+ */
+public class GameResult {
+
+	/**
+	 * The ways a game can end.
+	 */
+	public enum Outcome {
+		// The human player got to an exit with enough gold
+		ESCAPED,
+		// The bot caught the human player
+		CAUGHT,
+		// The human player quit
+		QUIT,
+		// Nobody won before the maximum number of turns was reached
+		TURN_LIMIT
+	}
+
+	private final Outcome outcome;
+	private final int turns;
+	private final int goldCollected;
+
+	/**
+	 * @param outcome : How the game ended.
+	 * @param turns : How many turns were (started to be) played.
+	 * @param goldCollected : How much gold the human player had picked up.
+	 */
+	public GameResult(Outcome outcome, int turns, int goldCollected) {
+		this.outcome = outcome;
+		this.turns = turns;
+		this.goldCollected = goldCollected;
+	}
+
+	/**
+	 * @return How the game ended.
+	 */
+	public Outcome getOutcome() {
+		return outcome;
+	}
+
+	/**
+	 * @return "HUMAN" or "BOT" for whoever won, or "NONE" when the game ended without a winner.
+	 */
+	public String getWinner() {
+		switch (outcome) {
+			case ESCAPED:
+				return "HUMAN";
+			case CAUGHT:
+				return "BOT";
+			default:
+				return "NONE";
+		}
+	}
+
+	/**
+	 * @return How many turns were (started to be) played.
+	 */
+	public int getTurns() {
+		return turns;
+	}
+
+	/**
+	 * @return How much gold the human player had picked up.
+	 */
+	public int getGoldCollected() {
+		return goldCollected;
+	}
+
+	@Override
+	public String toString() {
+		return outcome + " after " + turns + " turns with " + goldCollected + " gold";
+	}
+}
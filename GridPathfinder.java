@@ -0,0 +1,380 @@
+import java.util.Arrays;
+
+/**
+ * Finds shortest paths over a whole {@link Map}, however large it is.
+ * <p>
+ * Unlike {@link DijkstraOperations}, which searches a {@link CSRGraph} of the bot's 5x5 grid,
+ * the graph here is never built at all: every non-wall tile is a node numbered by its position on the map (see Map.toPosition()),
+ * and its neighbours are simply the tiles to the N, S, E and W of it.
+ * Tiles are given to and returned from the pathfinder by that same position, the one the rest of the game uses,
+ * so a query doesn't create anything either. As on the map, the border of walls around it means no step needs a bounds check.
+ * All the search state lives in a few primitive arrays that are made once and reused,
+ * so even a 4096x4096 map only costs a couple of bytes per tile.
+ * <p>
+ * Because every move costs exactly 1, Dijkstra's algorithm comes down to a breadth-first search,
+ * which is what is used by default (with the search stopping as soon as the target tile is reached).
+ * After setHeuristic() the search is an A* instead, which on large open maps
+ * only has to expand the tiles roughly in between the two coordinates.
+ *
+ * @author Jiri Swen
+ * @version 1.0
+ * @release 16/10/2026
+ * @see {@link Map.java}
+ * @see {@link DijkstraOperations.java}
+ * @see {@link Heuristic.java}
+ */
+public class GridPathfinder {
+
+	// Returned by getNextDirection() when there is no path or the target is where you already are
+	public static final char NO_DIRECTION = 'X';
+	// Returned by getDistance() when there is no path
+	public static final int UNREACHABLE = -1;
+
+	// The directions in the same order as the position offsets below
+	private static final char[] DIRECTIONS = new char[] {'N', 'S', 'E', 'W'};
+
+	// Dimensions of the map
+	private final int height;
+	private final int width;
+	// The position of the tile at [0][0], and how far apart the positions of two tiles above each other are
+	private final int origin;
+	private final int stride;
+	// What a step in each of the DIRECTIONS adds to a position
+	private final int[] offsets;
+	// One bit per position, set if the tile is on the map and not a wall
+	private final long[] walkable;
+
+	// One bit per position, set once the search has reached it
+	private final long[] visited;
+	// For every reached tile the index in DIRECTIONS of the step that was taken to get onto it
+	private final byte[] cameFrom;
+	// The tiles waiting to be expanded, in the order they were reached
+	private final int[] queue;
+
+	// Guides the search when set, otherwise a breadth-first search is used
+	private Heuristic heuristic;
+	// Only made when A* is used: one bit per tile, set once A* has given the tile a cost
+	private long[] seen;
+	// Only made when A* is used: for every seen tile the length of the shortest known path to it
+	private int[] cost;
+	// The open list of A*: a binary heap of tiles ordered by their keys (see aStarKey())
+	private long[] openKeys = new long[64];
+	private int[] openNodes = new int[64];
+	private int openSize;
+	// How many tiles the last search expanded, to compare how much work different searches do
+	private int expandedCount;
+
+	/**
+	 * Builds the pathfinder for the map as it is right now.
+	 *
+	 * @param map : The map to find paths on.
+	 * @exception IllegalArgumentException : If the map (with its border) has more tiles than can be numbered with an int.
+	 */
+	public GridPathfinder(Map map) {
+		height = map.getHeight();
+		width = map.getWidth();
+		if ((long) (height + 2) * (width + 2) > Integer.MAX_VALUE) {
+			throw new IllegalArgumentException("Map of " + height + "x" + width + " is too large to find paths on.");
+		}
+		origin = map.toPosition(0, 0);
+		stride = map.toPosition(1, 0) - origin;
+		offsets = new int[] {-stride, stride, 1, -1};
+		// The last position is the bottom right corner of the border
+		int positionCount = map.toPosition(height, width) + 1;
+		walkable = new long[(positionCount + 63) >>> 6];
+		for (int i = 0; i < height; ++i) {
+			for (int j = 0; j < width; ++j) {
+				int position = map.toPosition(i, j);
+				if (map.isWalkable(position)) {
+					walkable[position >>> 6] |= 1L << position;
+				}
+			}
+		}
+		visited = new long[walkable.length];
+		cameFrom = new byte[positionCount];
+		queue = new int[positionCount];
+	}
+
+	/**
+	 * Selects how paths are searched for from now on.
+	 *
+	 * @param heuristic : The heuristic for A* to use (e.g. new ManhattanHeuristic(width + 2), as that is how far apart the positions of two rows are), or null for a breadth-first search.
+	 */
+	public void setHeuristic(Heuristic heuristic) {
+		this.heuristic = heuristic;
+		if (heuristic != null && cost == null) {
+			seen = new long[walkable.length];
+			cost = new int[cameFrom.length];
+		}
+	}
+
+	/**
+	 * @return How many tiles the last search expanded.
+	 */
+	public int getExpandedCount() {
+		return expandedCount;
+	}
+
+	/**
+	 * @param position : The position of the tile to check (see Map.toPosition()).
+	 * @return Whether the tile is on the map and not a wall.
+	 */
+	public boolean isWalkable(int position) {
+		if (position < 0 || position >= cameFrom.length) {
+			return false;
+		}
+		return (walkable[position >>> 6] & (1L << position)) != 0;
+	}
+
+	/**
+	 * Same as isWalkable() with a position, but with the row and column of the tile in an array.
+	 *
+	 * @param coordinates : The coordinates to check.
+	 * @return Whether the coordinates are on the map and not a wall.
+	 */
+	public boolean isWalkable(int[] coordinates) {
+		if (coordinates[0] < 0 || coordinates[0] >= height || coordinates[1] < 0 || coordinates[1] >= width) {
+			return false;
+		}
+		return isWalkable(toPosition(coordinates));
+	}
+
+	/**
+	 * Gives the direction of the first step of a shortest path between two tiles.
+	 *
+	 * @param source : The position of the tile to start at (see Map.toPosition()).
+	 * @param target : The position of the tile to go to.
+	 * @return 'N', 'S', 'E' or 'W', or NO_DIRECTION if there is no path or both tiles are the same.
+	 */
+	public char getNextDirection(int source, int target) {
+		if (source == target || ! search(source, target)) {
+			return NO_DIRECTION;
+		}
+		// Walk back from the target until the step that left the source
+		int node = target;
+		while (true) {
+			int direction = cameFrom[node];
+			int previous = node - offsets[direction];
+			if (previous == source) {
+				return DIRECTIONS[direction];
+			}
+			node = previous;
+		}
+	}
+
+	/**
+	 * Same as getNextDirection() with positions, but with the row and column of the tiles in arrays.
+	 *
+	 * @param from : The coordinates to start at.
+	 * @param to : The coordinates to go to.
+	 * @return 'N', 'S', 'E' or 'W', or NO_DIRECTION if there is no path or both coordinates are the same.
+	 */
+	public char getNextDirection(int[] from, int[] to) {
+		if (! isWalkable(from) || ! isWalkable(to)) {
+			return NO_DIRECTION;
+		}
+		return getNextDirection(toPosition(from), toPosition(to));
+	}
+
+	/**
+	 * @param source : The position of the tile to start at (see Map.toPosition()).
+	 * @param target : The position of the tile to go to.
+	 * @return The number of moves on a shortest path between the two tiles, or UNREACHABLE.
+	 */
+	public int getDistance(int source, int target) {
+		if (! search(source, target)) {
+			return UNREACHABLE;
+		}
+		int distance = 0;
+		for (int node = target; node != source; distance ++) {
+			int direction = cameFrom[node];
+			node -= offsets[direction];
+		}
+		return distance;
+	}
+
+	/**
+	 * Same as getDistance() with positions, but with the row and column of the tiles in arrays.
+	 *
+	 * @param from : The coordinates to start at.
+	 * @param to : The coordinates to go to.
+	 * @return The number of moves on a shortest path between the two tiles, or UNREACHABLE.
+	 */
+	public int getDistance(int[] from, int[] to) {
+		if (! isWalkable(from) || ! isWalkable(to)) {
+			return UNREACHABLE;
+		}
+		return getDistance(toPosition(from), toPosition(to));
+	}
+
+	/**
+	 * @param coordinates : The row and column of a tile on the map.
+	 * @return The position of the tile, the same as Map.toPosition() gives.
+	 */
+	private int toPosition(int[] coordinates) {
+		return origin + coordinates[0] * stride + coordinates[1];
+	}
+
+	/**
+	 * Runs a breadth-first search from one tile until another one is reached.
+	 *
+	 * @param source : The position of the tile to start at.
+	 * @param target : The position of the tile to go to.
+	 * @return Whether the target was reached.
+	 */
+	protected boolean search(int source, int target) {
+		expandedCount = 0;
+		if (! isWalkable(source) || ! isWalkable(target)) {
+			return false;
+		}
+		Arrays.fill(visited, 0L);
+		if (heuristic != null) {
+			return searchAStar(source, target);
+		}
+		visited[source >>> 6] |= 1L << source;
+		int head = 0;
+		int tail = 0;
+		queue[tail++] = source;
+		while (head < tail) {
+			int node = queue[head++];
+			expandedCount ++;
+			if (node == target) {
+				return true;
+			}
+			// The border is never walkable, so a step off the map is never taken
+			for (int d = 0; d < 4; ++d) {
+				int next = node + offsets[d];
+				long bit = 1L << next;
+				if ((walkable[next >>> 6] & bit) != 0 && (visited[next >>> 6] & bit) == 0) {
+					visited[next >>> 6] |= bit;
+					cameFrom[next] = (byte) d;
+					queue[tail++] = next;
+				}
+			}
+		}
+		return false;
+	}
+
+	/**
+	 * Runs A* from one tile until another one is expanded.
+	 * Here visited marks the tiles that have been expanded (the closed set).
+	 *
+	 * @param source : The position of the tile to start at.
+	 * @param target : The position of the tile to go to.
+	 * @return Whether the target was reached.
+	 */
+	protected boolean searchAStar(int source, int target) {
+		Arrays.fill(seen, 0L);
+		openSize = 0;
+		seen[source >>> 6] |= 1L << source;
+		cost[source] = 0;
+		pushOpen(aStarKey(0, heuristic.estimate(source, target)), source);
+		while (openSize > 0) {
+			int node = popOpen();
+			long nodeBit = 1L << node;
+			// The same tile can be in the open list more than once (with an outdated cost), so skip it if it was expanded already
+			if ((visited[node >>> 6] & nodeBit) != 0) {
+				continue;
+			}
+			visited[node >>> 6] |= nodeBit;
+			expandedCount ++;
+			if (node == target) {
+				return true;
+			}
+			int newCost = cost[node] + 1;
+			for (int d = 0; d < 4; ++d) {
+				int next = node + offsets[d];
+				long bit = 1L << next;
+				if ((walkable[next >>> 6] & bit) == 0 || (visited[next >>> 6] & bit) != 0) {
+					continue;
+				}
+				if ((seen[next >>> 6] & bit) == 0 || newCost < cost[next]) {
+					seen[next >>> 6] |= bit;
+					cost[next] = newCost;
+					cameFrom[next] = (byte) d;
+					pushOpen(aStarKey(newCost, heuristic.estimate(next, target)), next);
+				}
+			}
+		}
+		return false;
+	}
+
+	/**
+	 * Orders the open list by the estimated total length of the path through a tile,
+	 * and among equal estimates prefers the tile that is furthest along already (which saves a lot of work on open floors).
+	 *
+	 * @param cost : The length of the path to the tile.
+	 * @param estimate : The heuristic's estimate of what is left.
+	 * @return The key to order the tile by in the open list.
+	 */
+	private static long aStarKey(int cost, int estimate) {
+		return ((long) (cost + estimate) << 32) | (Integer.MAX_VALUE - cost);
+	}
+
+	/**
+	 * Adds a tile to the open list, growing it when needed.
+	 */
+	private void pushOpen(long key, int node) {
+		if (openSize == openKeys.length) {
+			openKeys = Arrays.copyOf(openKeys, openSize * 2);
+			openNodes = Arrays.copyOf(openNodes, openSize * 2);
+		}
+		int index = openSize++;
+		while (index > 0) {
+			int parent = (index - 1) >>> 1;
+			if (openKeys[parent] <= key) {
+				break;
+			}
+			openKeys[index] = openKeys[parent];
+			openNodes[index] = openNodes[parent];
+			index = parent;
+		}
+		openKeys[index] = key;
+		openNodes[index] = node;
+	}
+
+	/**
+	 * Removes the tile with the lowest key from the open list.
+	 *
+	 * @return The position of the tile.
+	 */
+	private int popOpen() {
+		int min = openNodes[0];
+		openSize--;
+		long key = openKeys[openSize];
+		int node = openNodes[openSize];
+		int index = 0;
+		while (true) {
+			int child = 2 * index + 1;
+			if (child >= openSize) {
+				break;
+			}
+			if (child + 1 < openSize && openKeys[child + 1] < openKeys[child]) {
+				child ++;
+			}
+			if (openKeys[child] >= key) {
+				break;
+			}
+			openKeys[index] = openKeys[child];
+			openNodes[index] = openNodes[child];
+			index = child;
+		}
+		openKeys[index] = key;
+		openNodes[index] = node;
+		return min;
+	}
+
+	/**
+	 * @return The number of rows of the map.
+	 */
+	public int getHeight() {
+		return height;
+	}
+
+	/**
+	 * @return The number of columns of the map.
+	 */
+	public int getWidth() {
+		return width;
+	}
+}
@@ -0,0 +1,25 @@
+/**
+ * Estimates how far a node is from the target of a search, used by A* to decide which nodes to look at first.
+ * For A* to still find the shortest path the estimate must never be more than the real distance.
+ *
+ * @author Jiri Swen
+ * @version 1.0
+ * @release 16/10/2026
+ * @see {@link ManhattanHeuristic.java}
+ * @see {@link CSRDijkstra.java}
+ * @see {@link GridPathfinder.java}
+ */
+public interface Heuristic {
+
+	/**
+	 * Estimates nothing, which turns A* back into plain Dijkstra.
+	 */
+	public static final Heuristic NONE = (node, target) -> 0;
+
+	/**
+	 * @param node : The node to estimate the remaining distance for.
+	 * @param target : The node the search is going to.
+	 * @return A lower bound for the length of the path from node to target.
+	 */
+	public int estimate(int node, int target);
+}
@@ -1,12 +1,12 @@
-import java.util.Scanner;
 import java.util.List;
 import java.util.Arrays;
-import java.io.BufferedReader;
-import java.io.InputStreamReader;
-import java.io.IOException;
 
 /**
  * Runs the game with a human player and contains code needed to read inputs and display results.
+ * The input is read on a thread of its own (see {@link InputPipeline}), so a whole file of commands can be piped in
+ * and the game can go on without the player when it is played in ticks (see {@link GameLogic#setTickMillis}).
+ * Everything shown to the player goes through an {@link OutputSink}, which writes every reply with one call
+ * (or nothing at all with OutputSink.DISABLED, e.g. when replaying a game to time it).
  * 
  * @author Jiri Swen
  * @version 2.0
@@ -19,12 +19,23 @@ public class HumanPlayer implements Player {
 	// Stores commands considered 'valid' to check against
 	private List<String> validCommands = Arrays.asList("HELLO", "LOOK", "MOVE N", "MOVE S", "MOVE E", "MOVE W", "PICKUP", "QUIT", "PASS", "COMMANDS");
 	// Used to read commands from command line to be processed
-	private BufferedReader br = new BufferedReader(new InputStreamReader(System.in));
+	private InputPipeline input = new InputPipeline(System.in);
+	// Used to show the results and arrays to the player
+	private final OutputSink output;
 
 	/**
-	 * Default constructor.
+	 * Default constructor, which shows everything on the command line.
 	 */
-	public HumanPlayer() {}
+	public HumanPlayer() {
+		this(new OutputSink(System.out));
+	}
+
+	/**
+	 * @param output : Where to show the results and arrays, e.g. OutputSink.DISABLED to not show them at all.
+	 */
+	public HumanPlayer(OutputSink output) {
+		this.output = output;
+	}
 
 	/**
 	 * Reads the next command from the command line, 
@@ -34,34 +45,71 @@ public class HumanPlayer implements Player {
 	 */
 	public String getNextAction() {
 		while (true) {
-			String command = getNextCommand();
-			// This makes it so that it doesn't matter if you type in (partly) lowercase or put spaces at the beginning or end
-			command = command.trim().toUpperCase();
-			if (command.equals("COMMANDS")) {
-				printAvailableCommands();
-			}
-			// Lets your turn go by without anything happening
-			else if (command.equals("PASS")) {
-				System.out.println("");
-			}
-			if (validCommands.contains(command)) {
+			String command = processCommand(getNextCommand());
+			if (command != null) {
 				return command;
 			}
-			else {
-				System.out.println("Invalid");
+		}
+	}
+
+	/**
+	 * Reads the next command from the command line like getNextAction(), but only waits so long for the player to type it in.
+	 *
+	 * @param timeoutMillis : How long to wait for a valid command at most, in milliseconds.
+	 * @return The command, or null if the player didn't type in a valid one in time.
+	 */
+	public Command pollAction(long timeoutMillis) {
+		long deadline = System.nanoTime() + timeoutMillis * 1000000;
+		while (true) {
+			String line = input.poll(Math.max(0, (deadline - System.nanoTime()) / 1000000));
+			if (line == null) {
+				if (input.hasEnded()) {
+					closeReader();
+					System.exit(0);
+				}
+				return null;
+			}
+			String command = processCommand(line);
+			if (command != null) {
+				return Command.parse(command);
 			}
 		}
 	}
 
+	/**
+	 * Checks if a command that was typed in is valid, printing the available commands or "Invalid" when needed.
+	 *
+	 * @param The raw input from the command line.
+	 * @return The processed command, or null if it is not valid.
+	 */
+	protected String processCommand(String command) {
+		// This makes it so that it doesn't matter if you type in (partly) lowercase or put spaces at the beginning or end
+		command = command.trim().toUpperCase();
+		if (command.equals("COMMANDS")) {
+			printAvailableCommands();
+		}
+		// Lets your turn go by without anything happening
+		else if (command.equals("PASS")) {
+			output.println("");
+		}
+		if (validCommands.contains(command)) {
+			return command;
+		}
+		else {
+			output.println("Invalid");
+			return null;
+		}
+	}
+
 	/**
 	 * Prints all possible commands to type when a player asks for it.
 	 */
 	protected void printAvailableCommands() {
-		System.out.println("\nAvailable commands:");
+		output.newLine().append("Available commands:").newLine();
 		for (int i = 0; i < validCommands.size(); ++i) {
-			System.out.println("\"" + validCommands.get(i) + "\"");
+			output.append('"').append(validCommands.get(i)).append('"').newLine();
 		}
-		System.out.println("");
+		output.println("");
 	}
 
 	/**
@@ -94,33 +142,19 @@ public class HumanPlayer implements Player {
 	}
 
 	/**
-	 * Reads player's input from the console.
+	 * Reads player's input from the console, waiting until there is some.
 	 * 
-	 * @return A string containing the input the player entered.
-	 * @exception The usual IOException from a BufferedReader.
+	 * @return A string containing the input the player entered, or null if the input has ended.
 	 */
 	protected String getInputFromConsole() {
-		try {
-			return br.readLine();
-		}
-		catch (IOException e) {
-			System.err.println("\nIOException!");
-		}
-		return "0";
+		return input.take();
 	}
 
 	/**
 	 * Closes the reader (when the game ends).
-	 *
-	 * @exception The usual IOException from a BufferedReader.
 	 */
 	protected void closeReader() {
-		try {
-			br.close();
-		}
-		catch (IOException e) {
-			System.err.println("\nIOException!");
-		}
+		input.close();
 	}
 
 	/**
@@ -132,33 +166,23 @@ public class HumanPlayer implements Player {
 	  switch (result) {
 	 		// Move success and failure is 'encoded' as that can be useful for the bot to read as feedback
 	 		case "MOVE_SUCCESS":
-	 			System.out.println("\nSUCCESS\n");
+	 			output.println("\nSUCCESS\n");
 	 			return;
 	 		case "MOVE_FAIL":
-	 			System.out.println("\nFAIL\n");
+	 			output.println("\nFAIL\n");
 	 			return;
 		}
 
 		// Most results are just printed directly as there's no use in 'encoding' them
-		System.out.println("\n" + result + "\n");
+		output.newLine().append(result).newLine().println("");
 	}
 
 	/**
-	 * Prints out an array when received for the player to read.
+	 * Prints out an array when received for the player to read, all in one go.
 	 * 
 	 * @param The array coming from {@link GameLogic} to print.
 	 */
 	public void passArray(char[][] array) {
-		System.out.println("");
-		for (int i = 0; i < array.length; ++i) {
-			for (int j = 0; j < array[i].length; ++j) {
-				System.out.print(array[i][j]);
-				// Goes to the next line when end of line is reached
-				if (array[i].length - j <= 1) {
-					System.out.println("");
-				}
-			}	
-		}
-		System.out.println("");
+		output.newLine().appendRows(array).println("");
 	}
 }
\ No newline at end of file
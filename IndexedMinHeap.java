@@ -0,0 +1,202 @@
+import java.util.Arrays;
+
+/**
+ * A binary min-heap of node numbers ordered by a (long) integer priority, stored entirely in primitive arrays.
+ * Every node can be in the heap at most once, so lowering the priority of a node that is already queued
+ * moves it up in place instead of adding a duplicate (the classic "decrease-key" that Dijkstra needs).
+ * <p>
+ * The arrays are allocated once for a fixed number of nodes and reused for every search,
+ * so running a search does not create any garbage.
+ *
+ * @author Jiri Swen
+ * @version 1.0
+ * @release 16/10/2026
+ * @see {@link CSRDijkstra.java}
+ */
+public class IndexedMinHeap {
+
+	// The node numbers in heap order: the node at index 0 always has the lowest priority
+	private final int[] heap;
+	// For every node the index it is at in heap, or -1 if it is not queued
+	private final int[] position;
+	// For every node the priority it is queued with
+	private final long[] priority;
+	// How many nodes are currently queued
+	private int size;
+
+	/**
+	 * @param capacity : The number of nodes (numbered 0 to capacity - 1) the heap can hold.
+	 */
+	public IndexedMinHeap(int capacity) {
+		heap = new int[capacity];
+		position = new int[capacity];
+		priority = new long[capacity];
+		Arrays.fill(position, -1);
+	}
+
+	/**
+	 * Empties the heap. Only touches the nodes that are still queued, so it is cheap after a search has run dry.
+	 */
+	public void clear() {
+		for (int i = 0; i < size; ++i) {
+			position[heap[i]] = -1;
+		}
+		size = 0;
+	}
+
+	/**
+	 * @return Whether no nodes are queued.
+	 */
+	public boolean isEmpty() {
+		return size == 0;
+	}
+
+	/**
+	 * @param node : The node to check.
+	 * @return Whether the node is currently queued.
+	 */
+	public boolean contains(int node) {
+		return position[node] != -1;
+	}
+
+	/**
+	 * Queues a node, or lowers its priority if it is already queued with a higher one.
+	 *
+	 * @param node : The node to queue.
+	 * @param newPriority : The priority to queue it with.
+	 */
+	public void insertOrDecrease(int node, long newPriority) {
+		int index = position[node];
+		if (index == -1) {
+			index = size++;
+			heap[index] = node;
+			position[node] = index;
+		}
+		else if (newPriority >= priority[node]) {
+			return;
+		}
+		priority[node] = newPriority;
+		siftUp(index);
+	}
+
+	/**
+	 * Queues a node with any priority, moving it up or down if it was already queued.
+	 *
+	 * @param node : The node to queue.
+	 * @param newPriority : The priority to queue it with.
+	 */
+	public void update(int node, long newPriority) {
+		int index = position[node];
+		if (index == -1) {
+			insertOrDecrease(node, newPriority);
+			return;
+		}
+		long oldPriority = priority[node];
+		priority[node] = newPriority;
+		if (newPriority < oldPriority) {
+			siftUp(index);
+		}
+		else {
+			siftDown(index);
+		}
+	}
+
+	/**
+	 * Takes a node out of the heap wherever it is.
+	 *
+	 * @param node : The node to remove (nothing happens if it is not queued).
+	 */
+	public void remove(int node) {
+		int index = position[node];
+		if (index == -1) {
+			return;
+		}
+		position[node] = -1;
+		size--;
+		if (index != size) {
+			int last = heap[size];
+			heap[index] = last;
+			position[last] = index;
+			siftUp(index);
+			siftDown(position[last]);
+		}
+	}
+
+	/**
+	 * @return The priority of the node that pollMin() would return next.
+	 */
+	public long peekPriority() {
+		return priority[heap[0]];
+	}
+
+	/**
+	 * @return The node that pollMin() would return next.
+	 */
+	public int peekMin() {
+		return heap[0];
+	}
+
+	/**
+	 * Removes and returns the node with the lowest priority.
+	 *
+	 * @return The node with the lowest priority.
+	 */
+	public int pollMin() {
+		int min = heap[0];
+		position[min] = -1;
+		size--;
+		if (size > 0) {
+			heap[0] = heap[size];
+			position[heap[0]] = 0;
+			siftDown(0);
+		}
+		return min;
+	}
+
+	/**
+	 * Moves the node at an index up until its parent is not larger anymore.
+	 */
+	private void siftUp(int index) {
+		int node = heap[index];
+		long nodePriority = priority[node];
+		while (index > 0) {
+			int parentIndex = (index - 1) >>> 1;
+			int parent = heap[parentIndex];
+			if (priority[parent] <= nodePriority) {
+				break;
+			}
+			heap[index] = parent;
+			position[parent] = index;
+			index = parentIndex;
+		}
+		heap[index] = node;
+		position[node] = index;
+	}
+
+	/**
+	 * Moves the node at an index down until neither of its children is smaller anymore.
+	 */
+	private void siftDown(int index) {
+		int node = heap[index];
+		long nodePriority = priority[node];
+		while (true) {
+			int childIndex = 2 * index + 1;
+			if (childIndex >= size) {
+				break;
+			}
+			// Pick the smaller of the two children
+			if (childIndex + 1 < size && priority[heap[childIndex + 1]] < priority[heap[childIndex]]) {
+				childIndex ++;
+			}
+			int child = heap[childIndex];
+			if (priority[child] >= nodePriority) {
+				break;
+			}
+			heap[index] = child;
+			position[child] = index;
+			index = childIndex;
+		}
+		heap[index] = node;
+		position[node] = index;
+	}
+}
@@ -0,0 +1,140 @@
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.util.Arrays;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Reads lines of input on a thread of its own and queues them up, so that the game never has to wait for a read from the command line.
+ * <p>
+ * The reader thread reads as fast as the input comes in (e.g. a whole file of commands piped in at once)
+ * and queues up all lines that are ready together, so the game only touches the queue once for every batch of lines instead of for every line.
+ * The game can also ask for a line without waiting for it (or waiting only so long), which lets it keep going when nobody types anything.
+ *
+ * @author Jiri Swen
+ * @version 1.0
+ * @release 16/10/2026
+ * @see {@link HumanPlayer.java}
+ */
+public class InputPipeline {
+
+	// Put in the queue after the last line, so the game knows there won't be any more (compared by identity, so it can't be typed in)
+	private static final String END_OF_INPUT = new String("END OF INPUT");
+	// The size of the buffer to read the input with
+	private static final int BUFFER_SIZE = 1 << 16;
+	// The most lines that are queued up together
+	private static final int BATCH_SIZE = 1024;
+
+	// The batches of lines read by the reader thread that the game hasn't taken yet
+	private final BlockingQueue<String[]> queue = new LinkedBlockingQueue<String[]>();
+	// The batch the game is going through and the next line of it to use (only used by the game's thread)
+	private String[] batch = new String[0];
+	private int nextLine;
+	// Used to read the input on the reader thread
+	private final BufferedReader reader;
+	// Whether the game has reached the end of the input
+	private boolean ended;
+
+	/**
+	 * Starts reading the input on a new thread, which doesn't keep the application running when the game ends.
+	 *
+	 * @param input : The input to read lines from, e.g. System.in.
+	 */
+	public InputPipeline(InputStream input) {
+		reader = new BufferedReader(new InputStreamReader(input), BUFFER_SIZE);
+		Thread readerThread = new Thread(this::readLines, "Input pipeline");
+		readerThread.setDaemon(true);
+		readerThread.start();
+	}
+
+	/**
+	 * Puts every line of input in the queue until the input ends (or can't be read any more).
+	 */
+	private void readLines() {
+		String[] lines = new String[BATCH_SIZE];
+		int count = 0;
+		try {
+			String line;
+			while ((line = reader.readLine()) != null) {
+				lines[count++] = line;
+				// Hands the lines over when the batch is full or the next line isn't there yet (e.g. while someone is typing)
+				if (count == BATCH_SIZE || ! reader.ready()) {
+					queue.add(Arrays.copyOf(lines, count));
+					count = 0;
+				}
+			}
+		}
+		catch (IOException e) {
+			System.err.println("\nIOException!");
+		}
+		finally {
+			lines[count++] = END_OF_INPUT;
+			queue.add(Arrays.copyOf(lines, count));
+		}
+	}
+
+	/**
+	 * Gives the next line of input, waiting for it as long as it takes.
+	 *
+	 * @return The line, or null if the input has ended.
+	 */
+	public String take() {
+		return poll(Long.MAX_VALUE);
+	}
+
+	/**
+	 * Gives the next line of input, waiting for it at most some time.
+	 *
+	 * @param timeoutMillis : How long to wait for a line at most, in milliseconds (0 to not wait at all).
+	 * @return The line, or null if there was none in time or the input has ended (see hasEnded()).
+	 */
+	public String poll(long timeoutMillis) {
+		if (ended) {
+			return null;
+		}
+		if (nextLine == batch.length) {
+			try {
+				String[] newBatch = queue.poll(timeoutMillis, TimeUnit.MILLISECONDS);
+				if (newBatch == null) {
+					return null;
+				}
+				batch = newBatch;
+				nextLine = 0;
+			}
+			catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+				return null;
+			}
+		}
+		String line = batch[nextLine++];
+		if (line == END_OF_INPUT) {
+			ended = true;
+			return null;
+		}
+		return line;
+	}
+
+	/**
+	 * @return Whether all lines of input have been taken and no more will come.
+	 */
+	public boolean hasEnded() {
+		return ended;
+	}
+
+	/**
+	 * Closes the input (when the game ends).
+	 *
+	 * @exception The usual IOException from a BufferedReader.
+	 */
+	public void close() {
+		try {
+			reader.close();
+		}
+		catch (IOException e) {
+			System.err.println("\nIOException!");
+		}
+	}
+}
@@ -0,0 +1,185 @@
+import java.util.Arrays;
+
+/**
+ * Keeps track of where the tiles holding one kind of item (e.g. all the gold) are on a {@link Map},
+ * so that the nearest one can be found without going over every tile of the map.
+ * <p>
+ * The map is split into square buckets of BUCKET_SIZE x BUCKET_SIZE tiles, and the positions of the items are stored grouped by bucket
+ * in the same way as the edges of a {@link CSRGraph}: the items in bucket b are the slots
+ * bucketStart[b] up to (but not including) bucketStart[b] + bucketCount[b] of the positions array.
+ * Items are only ever taken off a map, never put on it, so removing one just moves the last item of its bucket into its slot.
+ * <p>
+ * The nearest item is searched for in rings of buckets around a tile,
+ * stopping as soon as no bucket further out can hold an item that is closer (in moves, so by Manhattan distance).
+ *
+ * @author Jiri Swen
+ * @version 1.0
+ * @release 16/10/2026
+ * @see {@link Map.java}
+ */
+public class ItemIndex {
+
+	// The number of rows and columns of tiles that make up one bucket
+	public static final int BUCKET_SIZE = 16;
+	private static final int BUCKET_SHIFT = 4;
+
+	// The map the items are on, which gives the rows and columns of positions
+	private final Map map;
+	// The number of buckets down and across the map
+	private final int bucketRows;
+	private final int bucketColumns;
+	// For every bucket the first slot of its items and how many items it still holds
+	private final int[] bucketStart;
+	private final int[] bucketCount;
+	// The positions (see Map.toPosition()) of the items, grouped by bucket
+	private final int[] positions;
+	// How many items are left in total
+	private int size;
+
+	/**
+	 * Indexes all the items on a map.
+	 *
+	 * @param map : The map the items are on.
+	 * @param items : A set of tiles of the map (bit n standing for position n) with the tiles holding the item set.
+	 */
+	public ItemIndex(Map map, long[] items) {
+		this.map = map;
+		bucketRows = (map.getHeight() + BUCKET_SIZE - 1) >>> BUCKET_SHIFT;
+		bucketColumns = (map.getWidth() + BUCKET_SIZE - 1) >>> BUCKET_SHIFT;
+		bucketStart = new int[bucketRows * bucketColumns];
+		bucketCount = new int[bucketStart.length];
+
+		for (long word : items) {
+			size += Long.bitCount(word);
+		}
+		positions = new int[size];
+		int[] found = new int[size];
+		int count = 0;
+		for (int i = 0; i < items.length; ++i) {
+			for (long word = items[i]; word != 0; word &= word - 1) {
+				found[count++] = (i << 6) + Long.numberOfTrailingZeros(word);
+			}
+		}
+		// First count the items in every bucket to know where each bucket starts, then put every item in its slot
+		for (int position : found) {
+			bucketCount[getBucket(position)] ++;
+		}
+		for (int b = 1; b < bucketStart.length; ++b) {
+			bucketStart[b] = bucketStart[b - 1] + bucketCount[b - 1];
+		}
+		Arrays.fill(bucketCount, 0);
+		for (int position : found) {
+			int bucket = getBucket(position);
+			positions[bucketStart[bucket] + bucketCount[bucket]++] = position;
+		}
+	}
+
+	/**
+	 * Copy constructor, for the copy of the map the items are on.
+	 *
+	 * @param original : The index to copy.
+	 * @param map : The copy of the map.
+	 */
+	public ItemIndex(ItemIndex original, Map map) {
+		this.map = map;
+		bucketRows = original.bucketRows;
+		bucketColumns = original.bucketColumns;
+		// Where the buckets start never changes, so that can be shared
+		bucketStart = original.bucketStart;
+		bucketCount = original.bucketCount.clone();
+		positions = original.positions.clone();
+		size = original.size;
+	}
+
+	/**
+	 * @param position : The position (see Map.toPosition()) of a tile on the map.
+	 * @return The number of the bucket the tile is in.
+	 */
+	private int getBucket(int position) {
+		return (map.getRow(position) >>> BUCKET_SHIFT) * bucketColumns + (map.getColumn(position) >>> BUCKET_SHIFT);
+	}
+
+	/**
+	 * @return How many items are left.
+	 */
+	public int getSize() {
+		return size;
+	}
+
+	/**
+	 * @return The positions of all items that are left, in no particular order.
+	 */
+	public int[] getPositions() {
+		int[] result = new int[size];
+		int count = 0;
+		for (int b = 0; b < bucketStart.length; ++b) {
+			System.arraycopy(positions, bucketStart[b], result, count, bucketCount[b]);
+			count += bucketCount[b];
+		}
+		return result;
+	}
+
+	/**
+	 * Takes an item out of the index, e.g. when it has been picked up.
+	 *
+	 * @param position : The position of the item.
+	 * @return Whether there was an item at the position.
+	 */
+	public boolean remove(int position) {
+		int bucket = getBucket(position);
+		int start = bucketStart[bucket];
+		int last = start + bucketCount[bucket] - 1;
+		for (int i = start; i <= last; ++i) {
+			if (positions[i] == position) {
+				positions[i] = positions[last];
+				bucketCount[bucket] --;
+				size --;
+				return true;
+			}
+		}
+		return false;
+	}
+
+	/**
+	 * Finds the item that is the fewest moves away from a tile if there were no walls (i.e. by Manhattan distance).
+	 *
+	 * @param position : The position of the tile to search from.
+	 * @return The position of the nearest item, or Coordinates.NONE if there are no items left.
+	 */
+	public int findNearest(int position) {
+		if (size == 0) {
+			return Coordinates.NONE;
+		}
+		int row = map.getRow(position);
+		int column = map.getColumn(position);
+		int bucketRow = row >>> BUCKET_SHIFT;
+		int bucketColumn = column >>> BUCKET_SHIFT;
+		int lastRing = Math.max(Math.max(bucketRow, bucketRows - 1 - bucketRow), Math.max(bucketColumn, bucketColumns - 1 - bucketColumn));
+		int nearest = Coordinates.NONE;
+		int nearestDistance = Integer.MAX_VALUE;
+		for (int ring = 0; ring <= lastRing; ++ring) {
+			// Every tile in a bucket of this ring is at least this many rows or columns away
+			if (ring > 0 && nearestDistance <= (ring - 1) * BUCKET_SIZE + 1) {
+				break;
+			}
+			for (int r = Math.max(0, bucketRow - ring); r <= Math.min(bucketRows - 1, bucketRow + ring); ++r) {
+				// The top and bottom rows of the ring are whole rows of buckets, the rows in between only have their two ends in the ring
+				int step = r == bucketRow - ring || r == bucketRow + ring ? 1 : Math.max(1, 2 * ring);
+				for (int c = bucketColumn - ring; c <= bucketColumn + ring; c += step) {
+					if (c < 0 || c >= bucketColumns) {
+						continue;
+					}
+					int bucket = r * bucketColumns + c;
+					for (int i = bucketStart[bucket]; i < bucketStart[bucket] + bucketCount[bucket]; ++i) {
+						int distance = Math.abs(map.getRow(positions[i]) - row) + Math.abs(map.getColumn(positions[i]) - column);
+						if (distance < nearestDistance) {
+							nearestDistance = distance;
+							nearest = positions[i];
+						}
+					}
+				}
+			}
+		}
+		return nearest;
+	}
+}
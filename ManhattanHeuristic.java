@@ -0,0 +1,28 @@
+/**
+ * The number of N/S/E/W steps between two tiles when there would be no walls in the way,
+ * for grids whose nodes are numbered row * width + column.
+ * As every step costs at least 1 this never overestimates, so A* still finds the shortest path.
+ *
+ * @author Jiri Swen
+ * @version 1.0
+ * @release 16/10/2026
+ * @see {@link Heuristic.java}
+ */
+public class ManhattanHeuristic implements Heuristic {
+
+	// The number of nodes in a row of the grid
+	private final int width;
+
+	/**
+	 * @param width : The number of nodes in a row of the grid.
+	 */
+	public ManhattanHeuristic(int width) {
+		this.width = width;
+	}
+
+	public int estimate(int node, int target) {
+		int nodeRow = node / width;
+		int targetRow = target / width;
+		return Math.abs(nodeRow - targetRow) + Math.abs((node - nodeRow * width) - (target - targetRow * width));
+	}
+}
@@ -1,12 +1,12 @@
 import java.util.List;
 import java.util.ArrayList;
-import java.util.Arrays;
-import java.io.BufferedReader;
-import java.io.FileReader;
-import java.io.FileInputStream;
-import java.io.BufferedInputStream;
-import java.io.InputStream;
 import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
 
 /**
  * Reads and contains in memory the map and specifications of the game.
@@ -18,14 +18,48 @@ import java.io.IOException;
  */
 public class Map {
 
-	// Representation of the map
-	private char[][] map;
+	/* Representation of the map: a map only has walls ('#'), gold ('G'), exits ('E') and empty floor ('.'),
+	   so it is stored as one set of bits for each of the first three (bit n of word n / 64 standing for the tile at position n).
+	   Any other character in a map file is read as empty floor, since only walls ever stopped anyone from walking on a tile.
+	   That is 3 bits per tile, and checking for e.g. a wall is a single bit test.
+	   The rows are stored one after the other with a border of walls all around them,
+	   so that a step from any tile on the map always lands somewhere in the sets (see toPosition()) */
+	private long[] walls;
+	private long[] gold;
+	private long[] exits;
+	// Where the gold and the exits are, to find the nearest ones without going over the whole map
+	private ItemIndex goldIndex;
+	private ItemIndex exitIndex;
+	// The tiles players can be spawned on (with and without the gold tiles), made when first needed
+	private SpawnPoints spawnPoints;
+	private SpawnPoints spawnPointsWithGold;
+	// The item version (see getItemVersion()) the spawn points were made for
+	private int spawnPointsVersion;
+	// For every byte a tile can be read as, whether it is a wall, gold or an exit (1 for yes, 0 for no)
+	private static final long[] IS_WALL = new long[256];
+	private static final long[] IS_GOLD = new long[256];
+	private static final long[] IS_EXIT = new long[256];
+	static {
+		IS_WALL['#'] = 1;
+		IS_GOLD['G'] = 1;
+		IS_EXIT['E'] = 1;
+	}
+	// Dimensions of the map (without the border)
+	private int height;
+	private int width;
+	// The length of a stored row: the width plus the border on both sides
+	private int stride;
 	
 	// Map name
 	private String mapName;
 	
 	// Gold required for the human player to win
 	private int goldRequired;
+
+	// Goes up every time a tile changes between being a wall and not being one, so caches of paths know when they are outdated
+	private int layoutVersion;
+	// Goes up every time any tile changes (e.g. when gold is picked up)
+	private int itemVersion;
 	
 	/**
 	 * Default constructor, creates the default map "Very small Labyrinth of doom".
@@ -33,7 +67,7 @@ public class Map {
 	public Map() {
 		mapName = "Very small Labyrinth of Doom";
 		goldRequired = 2;
-		map = new char[][] {
+		setTiles(new char[][] {
 		{'#','#','#','#','#','#','#','#','#','#','#','#','#','#','#','#','#','#','#','#'},
 		{'#','.','.','.','.','.','.','.','.','.','.','.','.','.','.','.','.','.','.','#'},
 		{'#','.','.','.','.','.','.','G','.','.','.','.','.','.','.','.','.','E','.','#'},
@@ -43,7 +77,49 @@ public class Map {
 		{'#','.','.','.','.','.','.','.','.','.','.','.','.','.','.','.','.','.','.','#'},
 		{'#','.','.','.','.','.','.','.','.','.','.','.','.','.','.','.','.','.','.','#'},
 		{'#','#','#','#','#','#','#','#','#','#','#','#','#','#','#','#','#','#','#','#'}
-		};
+		});
+	}
+
+	/**
+	 * Constructor for a map that was made in code rather than read from a file (e.g. a generated dungeon).
+	 *
+	 * @param name : The name of the map.
+	 * @param gold : The gold required for the human player to win.
+	 * @param tiles : The rows of the map, which must all be as long.
+	 * @exception IllegalArgumentException : If the map is not rectangular.
+	 */
+	public Map(String name, int gold, char[][] tiles) {
+		for (int i = 0; i < tiles.length; ++i) {
+			if (tiles[i].length != tiles[0].length) {
+				throw new IllegalArgumentException("Your chosen map appears to not be rectangular.");
+			}
+		}
+		mapName = name;
+		goldRequired = gold;
+		setTiles(tiles);
+	}
+
+	/**
+	 * Copy constructor, so that e.g. many simulated games can each pick up the gold of the same map.
+	 *
+	 * @param The map to copy.
+	 */
+	public Map(Map original) {
+		mapName = original.mapName;
+		goldRequired = original.goldRequired;
+		height = original.height;
+		width = original.width;
+		stride = original.stride;
+		walls = original.walls.clone();
+		gold = original.gold.clone();
+		exits = original.exits.clone();
+		goldIndex = new ItemIndex(original.goldIndex, this);
+		exitIndex = new ItemIndex(original.exitIndex, this);
+		// Spawn points never change once made, so the copy can use the same ones as long as they are up to date
+		if (original.spawnPointsVersion == original.itemVersion) {
+			spawnPoints = original.spawnPoints;
+			spawnPointsWithGold = original.spawnPointsWithGold;
+		}
 	}
 
 	/**
@@ -57,58 +133,243 @@ public class Map {
 	}
 
 /**
-   * Reads the map from a file using a BufferedReader and sets the appropriate parameters.
+   * Reads the map from a file and sets the appropriate parameters.
+   * The file is memory-mapped with a FileChannel and gone through only once:
+   * the rows of tiles are stored straight from the mapped file, one at a time.
+   * Tiles must be single-byte (ASCII) characters, and lines may end in "\n" or "\r\n".
+   * Map files in the {@link BinaryMapFormat} are recognised and read too.
    *
    * @param The filename of the map file.
-   * @throws IOException : The usual IOException from a BufferedReader.
-   * @throws Exception : Thrown if map is not rectangular.
+   * @throws IOException : The usual IOException from a FileChannel, or if the file is larger than 2GB.
+   * @throws Exception : Thrown if map is not rectangular, or if it is missing its name, gold or tiles.
    */
   protected void readMap(String fileName) throws IOException, Exception {
-		BufferedReader r = new BufferedReader(new FileReader(fileName));
-		// First reads in the map name and amount of required gold
-		mapName = r.readLine().replace("name ", "");
-		goldRequired = Integer.parseInt(r.readLine().replace("win ", ""));
-		int lineNumber = countLines(fileName) - 2;
-		map = new char[lineNumber][];
-
-		for (int i = 0; i < lineNumber; ++i) {
-			map[i] = r.readLine().toCharArray();
-			// Checks if all lines have the same length
-			if (map[i].length != map[0].length) {
+		try (FileChannel channel = FileChannel.open(Paths.get(fileName), StandardOpenOption.READ)) {
+			if (channel.size() > Integer.MAX_VALUE) {
+				throw new IOException("Map files larger than 2GB can't be read.");
+			}
+			MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+			if (BinaryMapFormat.isBinary(buffer)) {
+				readBinaryMap(buffer);
+				return;
+			}
+			// First reads in the map name and amount of required gold
+			mapName = readHeaderLine(buffer).replace("name ", "");
+			goldRequired = Integer.parseInt(readHeaderLine(buffer).replace("win ", ""));
+			readTiles(buffer);
+		}
+	}
+
+	/**
+	 * Reads a map file in the {@link BinaryMapFormat}, decoding the tiles straight from the mapped file into the stored sets of tiles.
+	 *
+	 * @param The mapped map file.
+	 * @throws Exception : Thrown if the file can't be read as a map.
+	 */
+	private void readBinaryMap(ByteBuffer buffer) throws Exception {
+		mapName = BinaryMapFormat.readName(buffer);
+		goldRequired = buffer.getInt();
+		height = buffer.getInt();
+		width = buffer.getInt();
+		if (height <= 0 || width <= 0 || (long) (height + 2) * (width + 2) > Integer.MAX_VALUE - 8) {
+			throw new Exception("\nYour chosen map appears to have an invalid size of " + height + "x" + width + ".");
+		}
+		BinaryMapFormat.checkTiles(buffer, height, width);
+		allocateTiles();
+		byte[] packedRow = new byte[BinaryMapFormat.getRowBytes(width)];
+		for (int i = 0; i < height; ++i) {
+			BinaryMapFormat.readRow(buffer, packedRow, width, walls, gold, exits, toPosition(i, 0));
+		}
+		indexItems();
+	}
+
+	/**
+	 * Reads one line of the header of a map file, leaving the buffer at the start of the next line.
+	 *
+	 * @param The mapped map file.
+	 * @return The line, without its line break.
+	 * @throws Exception : Thrown if the file ends before the line.
+	 */
+	private static String readHeaderLine(ByteBuffer buffer) throws Exception {
+		if (! buffer.hasRemaining()) {
+			throw new Exception("\nYour chosen map appears to be missing its name or gold.");
+		}
+		int start = buffer.position();
+		int end = start;
+		while (end < buffer.limit() && buffer.get(end) != '\n') {
+			end ++;
+		}
+		buffer.position(Math.min(end + 1, buffer.limit()));
+		if (end > start && buffer.get(end - 1) == '\r') {
+			end --;
+		}
+		byte[] line = new byte[end - start];
+		buffer.get(start, line);
+		return new String(line, StandardCharsets.UTF_8);
+	}
+
+	/**
+	 * Reads the rows of tiles that make up the rest of a map file.
+	 * As all rows must be as long, the width of the first row gives where the line break after every row must be,
+	 * so the rows are found by jumping from one line break to the next without looking at the tiles in between.
+	 * Each line break can be either "\n" or "\r\n", as in a file that was edited on different systems.
+	 * The height is known before anything is copied and the rows can be copied in one go each.
+	 *
+	 * @param The mapped map file, at the start of the first row.
+	 * @throws Exception : Thrown if there are no tiles or map is not rectangular.
+	 */
+	private void readTiles(ByteBuffer buffer) throws Exception {
+		int start = buffer.position();
+		int end = buffer.limit();
+		// Line breaks at the very end of the file don't count as (empty) rows
+		while (end > start && (buffer.get(end - 1) == '\n' || buffer.get(end - 1) == '\r')) {
+			end --;
+		}
+		int firstLineEnd = start;
+		while (firstLineEnd < end && buffer.get(firstLineEnd) != '\n') {
+			firstLineEnd ++;
+		}
+		width = firstLineEnd - start;
+		if (firstLineEnd < end && width > 0 && buffer.get(firstLineEnd - 1) == '\r') {
+			width --;
+		}
+		if (width <= 0) {
+			throw new Exception("\nYour chosen map appears to not have any tiles.");
+		}
+		// Checks if all lines have the same length, i.e. if every line break is where the first row says it should be
+		height = 1;
+		int rowStart = start;
+		while (rowStart + width < end) {
+			rowStart = nextRowStart(buffer, rowStart);
+			if (rowStart < 0) {
 				throw new Exception("\nYour chosen map appears to not be rectangular.");
 			}
+			height ++;
+		}
+		if (rowStart + width != end) {
+			throw new Exception("\nYour chosen map appears to not be rectangular.");
 		}
-		r.close();
+		allocateTiles();
+		byte[] row = new byte[width];
+		rowStart = start;
+		for (int i = 0; i < height; ++i) {
+			buffer.get(rowStart, row);
+			setRow(i, row);
+			if (i < height - 1) {
+				rowStart = nextRowStart(buffer, rowStart);
+			}
+		}
+		indexItems();
 	}
 
 	/**
-   * Super quick line counter by martinus:
-   * https://stackoverflow.com/questions/453018/number-of-lines-in-a-file-in-java
-   *
-   * @param The filename of the map file to count the lines of.
-   * @return The number of lines.
-   * @throws The usual IOException from a BufferedReader.
-   */
-	protected int countLines(String fileName) throws IOException {
-    InputStream is = new BufferedInputStream(new FileInputStream(fileName));
-    try {
-      byte[] c = new byte[1024];
-      int count = 1; // I changed this from 0 to 1 because it was counting one too few lines for some reason
-      int readChars = 0;
-      boolean empty = true;
-      while ((readChars = is.read(c)) != -1) {
-        empty = false;
-        for (int i = 0; i < readChars; ++i) {
-          if (c[i] == '\n') {
-            ++count;
-          }
-        }
-      }
-      return (count == 0 && !empty) ? 1 : count;
-    } 
-    finally {
-      is.close();
-    }
+	 * Finds the start of the row after a row of tiles, which must be right after the row's line break.
+	 *
+	 * @param The mapped map file, which must have more bytes after the width of the row.
+	 * @param The start of the row.
+	 * @return The start of the next row, or -1 if the row isn't followed by a line break after exactly width tiles.
+	 */
+	private int nextRowStart(ByteBuffer buffer, int rowStart) {
+		int lineEnd = rowStart + width;
+		// A "\r" before the "\n" belongs to the line break
+		if (buffer.get(lineEnd) == '\r') {
+			lineEnd ++;
+		}
+		return buffer.get(lineEnd) == '\n' ? lineEnd + 1 : -1;
+	}
+
+	/**
+	 * Stores the rows of the map one after the other, surrounded by a border of walls.
+	 *
+	 * @param The rows of the map, which must all be as long.
+	 */
+	private void setTiles(char[][] map) {
+		height = map.length;
+		width = map[0].length;
+		allocateTiles();
+		byte[] row = new byte[width];
+		for (int i = 0; i < height; ++i) {
+			for (int j = 0; j < width; ++j) {
+				row[j] = map[i][j] > 0xFF ? (byte) '?' : (byte) map[i][j];
+			}
+			setRow(i, row);
+		}
+		indexItems();
+	}
+
+	/**
+	 * Makes the (empty) sets of tiles for the height and width of the map, with only the border of walls set.
+	 */
+	private void allocateTiles() {
+		stride = width + 2;
+		int words = (int) (((long) (height + 2) * stride + 63) >>> 6);
+		walls = new long[words];
+		gold = new long[words];
+		exits = new long[words];
+		for (int column = -1; column <= width; ++column) {
+			setBit(walls, toPosition(-1, column));
+			setBit(walls, toPosition(height, column));
+		}
+		for (int row = 0; row < height; ++row) {
+			setBit(walls, toPosition(row, -1));
+			setBit(walls, toPosition(row, width));
+		}
+	}
+
+	/**
+	 * Makes the indexes of the gold and the exits, once all tiles have been stored.
+	 */
+	private void indexItems() {
+		goldIndex = new ItemIndex(this, gold);
+		exitIndex = new ItemIndex(this, exits);
+	}
+
+	/**
+	 * Stores a row of tiles. It is a method of its own so that it gets compiled after a few rows of a large map.
+	 * The bits are collected a whole word at a time with table lookups rather than tested tile by tile,
+	 * as random walls make for a lot of mispredicted branches otherwise.
+	 *
+	 * @param row : The row (y coordinate) to store.
+	 * @param tiles : The tiles of the row, one ASCII character each.
+	 */
+	private void setRow(int row, byte[] tiles) {
+		int position = toPosition(row, 0);
+		long wallWord = 0;
+		long goldWord = 0;
+		long exitWord = 0;
+		for (int j = 0; j < width; ++j, ++position) {
+			int tile = tiles[j] & 0xFF;
+			int shift = position & 63;
+			wallWord |= IS_WALL[tile] << shift;
+			goldWord |= IS_GOLD[tile] << shift;
+			exitWord |= IS_EXIT[tile] << shift;
+			// Store the word when it is full or the row ends
+			if (shift == 63 || j == width - 1) {
+				walls[position >>> 6] |= wallWord;
+				gold[position >>> 6] |= goldWord;
+				exits[position >>> 6] |= exitWord;
+				wallWord = 0;
+				goldWord = 0;
+				exitWord = 0;
+			}
+		}
+	}
+
+	/**
+	 * @param bits : The set of tiles.
+	 * @param position : The position of the tile to add to it.
+	 */
+	private static void setBit(long[] bits, int position) {
+		bits[position >>> 6] |= 1L << position;
+	}
+
+	/**
+	 * @param bits : The set of tiles.
+	 * @param position : The position of the tile to check.
+	 * @return Whether the tile is in the set.
+	 */
+	private static boolean testBit(long[] bits, int position) {
+		return (bits[position >>> 6] & (1L << position)) != 0;
 	}
 
   /** 
@@ -119,12 +380,35 @@ public class Map {
   }
 
   /**
-   * @return The map as stored in memory.
+   * Makes a copy of the map, as it is no longer stored as a 2D array.
+   * Use getItemAtPosition() or copyRow() in code that runs every turn.
+   *
+   * @return The rows of the map (without the border).
    */
   protected char[][] getMap() {
+    char[][] map = new char[height][width];
+    for (int i = 0; i < height; ++i) {
+      copyRow(i, 0, map[i], 0, width);
+    }
     return map;
   }
 
+	/**
+	 * Copies (part of) a row of the map into an array, e.g. to fill in what a player sees when they LOOK.
+	 *
+	 * @param row : The row to copy from.
+	 * @param column : The first column to copy.
+	 * @param destination : The array to copy into.
+	 * @param offset : Where in the destination to put the first tile.
+	 * @param length : How many tiles to copy, which must all be on the map.
+	 */
+	protected void copyRow(int row, int column, char[] destination, int offset, int length) {
+		int position = toPosition(row, column);
+		for (int i = 0; i < length; ++i) {
+			destination[offset + i] = getItemAtPosition(position + i);
+		}
+	}
+
   /**
    * @return The name of the current map.
    */
@@ -137,7 +421,7 @@ public class Map {
    * @return The item stored at specified coordinates.
    */
 	protected char getItemAtCoordinate(int[] coordinates) {
-		return map[coordinates[0]][coordinates[1]];
+		return getItemAtPosition(toPosition(coordinates[0], coordinates[1]));
 	}
 
 	/**
@@ -146,13 +430,234 @@ public class Map {
 	 * @param Coordinates to replace with an 'empty' slot.
 	 */
 	protected void removeItemAtCoordinate(int[] coordinates) {
-		map[coordinates[0]][coordinates[1]] = '.';
+		removeItemAtPosition(toPosition(coordinates[0], coordinates[1]));
+	}
+
+	/**
+	 * @param The position (see toPosition()) to get the character at as stored in the map.
+	 * @return The item stored at specified position, which is a wall for the border around the map.
+	 */
+	protected char getItemAtPosition(int position) {
+		if (testBit(walls, position)) {
+			return '#';
+		}
+		if (testBit(gold, position)) {
+			return 'G';
+		}
+		if (testBit(exits, position)) {
+			return 'E';
+		}
+		return '.';
+	}
+
+	/**
+	 * @param The position (see toPosition()) to check.
+	 * @return Whether a player can stand on the tile, i.e. it is not a wall (or the border).
+	 */
+	protected boolean isWalkable(int position) {
+		return ! testBit(walls, position);
+	}
+
+	/**
+	 * @param The position (see toPosition()) to check.
+	 * @return Whether there is gold on the tile.
+	 */
+	protected boolean hasGold(int position) {
+		return testBit(gold, position);
+	}
+
+	/**
+	 * @param The position (see toPosition()) to check.
+	 * @return Whether the tile is an exit.
+	 */
+	protected boolean isExit(int position) {
+		return testBit(exits, position);
+	}
+
+	/**
+	 * Finds the gold that is the fewest moves away if there were no walls, without going over the whole map (see {@link ItemIndex}).
+	 *
+	 * @param The position (see toPosition()) to search from.
+	 * @return The position of the nearest gold, or Coordinates.NONE if there is no gold left.
+	 */
+	protected int findNearestGold(int position) {
+		return goldIndex.findNearest(position);
+	}
+
+	/**
+	 * Finds the exit that is the fewest moves away if there were no walls, without going over the whole map (see {@link ItemIndex}).
+	 *
+	 * @param The position (see toPosition()) to search from.
+	 * @return The position of the nearest exit, or Coordinates.NONE if there is none.
+	 */
+	protected int findNearestExit(int position) {
+		return exitIndex.findNearest(position);
+	}
+
+	/**
+	 * @return How much gold is left on the map.
+	 */
+	protected int getGoldLeft() {
+		return goldIndex.getSize();
+	}
+
+	/**
+	 * @param item : 'G' or 'E'.
+	 * @return The positions (see toPosition()) of all tiles holding the item, or null for any other tile.
+	 */
+	protected int[] getItemPositions(char item) {
+		switch (item) {
+			case 'G':
+				return goldIndex.getPositions();
+			case 'E':
+				return exitIndex.getPositions();
+			default:
+				return null;
+		}
+	}
+
+	/**
+	 * Gives the tiles a player can be spawned on, which are only worked out again after the map has changed.
+	 *
+	 * @param goldAllowed : Whether tiles holding gold count too (they don't for the human player).
+	 * @return The tiles that aren't walls (and hold no gold, unless it is allowed).
+	 */
+	protected SpawnPoints getSpawnPoints(boolean goldAllowed) {
+		if (spawnPoints == null || spawnPointsVersion != itemVersion) {
+			long[] floor = new long[walls.length];
+			long[] floorWithoutGold = new long[walls.length];
+			for (int i = 0; i < walls.length; ++i) {
+				floor[i] = ~walls[i];
+				floorWithoutGold[i] = ~walls[i] & ~gold[i];
+			}
+			// The positions after the last one of the map would be "floor" otherwise
+			long lastWord = -1L >>> (-((height + 2) * stride) & 63);
+			floor[walls.length - 1] &= lastWord;
+			floorWithoutGold[walls.length - 1] &= lastWord;
+			spawnPointsWithGold = new SpawnPoints(floor);
+			spawnPoints = new SpawnPoints(floorWithoutGold);
+			spawnPointsVersion = itemVersion;
+		}
+		return goldAllowed ? spawnPointsWithGold : spawnPoints;
+	}
+
+	/**
+	 * @param from : The position (see toPosition()) of one tile.
+	 * @param to : The position of another tile.
+	 * @return How many moves apart the tiles are if there were no walls in the way (i.e. the Manhattan distance).
+	 */
+	protected int getDistance(int from, int to) {
+		return Math.abs(getRow(from) - getRow(to)) + Math.abs(getColumn(from) - getColumn(to));
+	}
+
+	/**
+	 * Removes item stored at specified position.
+	 * 
+	 * @param Position (see toPosition()) to replace with an 'empty' slot.
+	 */
+	protected void removeItemAtPosition(int position) {
+		if (testBit(walls, position)) {
+			layoutVersion ++;
+		}
+		if (testBit(gold, position)) {
+			goldIndex.remove(position);
+		}
+		if (testBit(exits, position)) {
+			exitIndex.remove(position);
+		}
+		long bit = ~(1L << position);
+		walls[position >>> 6] &= bit;
+		gold[position >>> 6] &= bit;
+		exits[position >>> 6] &= bit;
+		itemVersion ++;
+	}
+
+	/**
+	 * Packs coordinates into a single int, so that they can be passed around without allocating an array.
+	 * Positions are the bit numbers in the stored sets of tiles, which have a border of walls around the map:
+	 * the tile at [row][column] is at (row + 1) * (width + 2) + column + 1.
+	 * The border also has positions (e.g. toPosition(-1, 0)), which are always walls.
+	 *
+	 * @param row : The row (y coordinate), from -1 up to and including the height.
+	 * @param column : The column (x coordinate), from -1 up to and including the width.
+	 * @return The position of the tile on this map.
+	 */
+	protected int toPosition(int row, int column) {
+		return (row + 1) * stride + column + 1;
+	}
+
+	/**
+	 * @param The position of a tile on this map.
+	 * @return The row (y coordinate) of the tile.
+	 */
+	protected int getRow(int position) {
+		return position / stride - 1;
+	}
+
+	/**
+	 * @param The position of a tile on this map.
+	 * @return The column (x coordinate) of the tile.
+	 */
+	protected int getColumn(int position) {
+		return position % stride - 1;
 	}
 
 	/**
+	 * Thanks to the border no bounds need to be checked: from any tile on the map the step lands on the map or on the border,
+	 * which is a wall.
+	 *
+	 * @param position : The position of a tile on the map to step from.
+	 * @param direction : 'N', 'S', 'E' or 'W'.
+	 * @return The position of the adjacent tile, or Coordinates.NONE if the direction is unknown.
+	 */
+	protected int getNeighbour(int position, char direction) {
+		switch (direction) {
+			case 'N':
+				return position - stride;
+			case 'S':
+				return position + stride;
+			case 'E':
+				return position + 1;
+			case 'W':
+				return position - 1;
+		}
+		return Coordinates.NONE;
+	}
+
+	/**
+	 * @return A number that changes whenever a wall is added to or removed from the map.
+	 */
+	protected int getLayoutVersion() {
+		return layoutVersion;
+	}
+
+	/**
+	 * @return A number that changes whenever any tile of the map changes.
+	 */
+	protected int getItemVersion() {
+		return itemVersion;
+	}
+
+	/**
+	 * @return The number of rows of the map.
+	 */
+	protected int getHeight() {
+		return height;
+	}
+
+	/**
+	 * @return The number of columns of the map.
+	 */
+	protected int getWidth() {
+		return width;
+	}
+
+	/**
+	 * Allocates a new array every call, so use getHeight() and getWidth() in code that runs every turn.
+	 *
 	 * @return The height and width of the map stored together in an array.
 	 */
 	protected int[] getMapSize() {
-		return new int[] {map.length, map[0].length};
+		return new int[] {height, width};
 	}
 }
\ No newline at end of file
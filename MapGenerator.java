@@ -0,0 +1,103 @@
+import java.io.BufferedWriter;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.util.Random;
+
+/**
+ * Generates random dungeons of any size, for testing and measuring things on maps much larger than the hand-made ones.
+ * The edge of a generated map is always wall, the inside is floor with random walls, gold and exits scattered over it.
+ * <p>
+ * Run it like: java MapGenerator [height] [width] [file to write to] to save a generated map in the usual map file format.
+ *
+ * @author Jiri Swen
+ * @version 1.0
+ * @release 16/10/2026
+ * @see {@link Map.java}
+ * @see {@link Benchmarks.java}
+ */
+public class MapGenerator {
+
+	/**
+	 * Generates a random map. The same seed always gives the same map.
+	 *
+	 * @param height : The number of rows.
+	 * @param width : The number of columns.
+	 * @param wallChance : The chance (0 to 1) of a tile on the inside being a wall.
+	 * @param seed : The seed for the random generator.
+	 * @return The rows of the map.
+	 */
+	public static char[][] generateTiles(int height, int width, double wallChance, long seed) {
+		Random random = new Random(seed);
+		char[][] tiles = new char[height][width];
+		for (int i = 0; i < height; ++i) {
+			for (int j = 0; j < width; ++j) {
+				if (i == 0 || j == 0 || i == height - 1 || j == width - 1 || random.nextDouble() < wallChance) {
+					tiles[i][j] = '#';
+				}
+				else {
+					tiles[i][j] = '.';
+				}
+			}
+		}
+		// Roughly one gold per 100 tiles and one exit per 1000 tiles, but always at least a few of both
+		placeItems(tiles, 'G', Math.max(4, height * width / 100), random);
+		placeItems(tiles, 'E', Math.max(2, height * width / 1000), random);
+		return tiles;
+	}
+
+	/**
+	 * Generates a random {@link Map} that requires 2 gold to win.
+	 *
+	 * @param height : The number of rows.
+	 * @param width : The number of columns.
+	 * @param wallChance : The chance (0 to 1) of a tile on the inside being a wall.
+	 * @param seed : The seed for the random generator.
+	 * @return The map.
+	 */
+	public static Map generate(int height, int width, double wallChance, long seed) {
+		return new Map("Generated " + height + "x" + width + " Dungeon of Doom", 2, generateTiles(height, width, wallChance, seed));
+	}
+
+	/**
+	 * Puts items on random floor tiles (tries a limited number of times, so very full maps might get fewer).
+	 */
+	private static void placeItems(char[][] tiles, char item, int count, Random random) {
+		for (int tries = 0; count > 0 && tries < count * 100; ++tries) {
+			int i = random.nextInt(tiles.length);
+			int j = random.nextInt(tiles[0].length);
+			if (tiles[i][j] == '.') {
+				tiles[i][j] = item;
+				count --;
+			}
+		}
+	}
+
+	/**
+	 * Writes a map in the format read by {@link Map}: the name, the gold to win and then the rows.
+	 *
+	 * @param map : The map to write.
+	 * @param fileName : The file to write it to.
+	 * @throws IOException : The usual IOException from a BufferedWriter.
+	 */
+	public static void writeMap(Map map, String fileName) throws IOException {
+		BufferedWriter w = new BufferedWriter(new FileWriter(fileName));
+		try {
+			w.write("name " + map.getMapName() + "\n");
+			w.write("win " + map.getGoldRequired());
+			char[][] tiles = map.getMap();
+			for (int i = 0; i < tiles.length; ++i) {
+				w.write("\n");
+				w.write(tiles[i]);
+			}
+		}
+		finally {
+			w.close();
+		}
+	}
+
+	public static void main(String[] args) throws IOException {
+		int height = Integer.parseInt(args[0]);
+		int width = Integer.parseInt(args[1]);
+		writeMap(generate(height, width, 0.2, 42), args[2]);
+	}
+}
@@ -0,0 +1,46 @@
+/**
+ * The results of a move that {@link GameLogic} sends back to the {@link Player} who made it.
+ * Every other result is just a message to show, so those are still sent as Strings.
+ *
+ * @author Jiri Swen
+ * @version 1.0
+ * @release 16/10/2026
+ * @see {@link Player.java}
+ * @see {@link Command.java}
+ */
+public enum MoveResult {
+	SUCCESS("MOVE_SUCCESS"),
+	FAIL("MOVE_FAIL"),
+	// The human player moved onto an exit with enough gold (by the time it is known the game is already over)
+	SUCCESS_ENDGAME("MOVE_SUCCESS_ENDGAME");
+
+	// values() makes a new array every call, so it is only done once
+	private static final MoveResult[] ALL = values();
+
+	// The result as it is written in the String protocol
+	private final String protocol;
+
+	private MoveResult(String protocol) {
+		this.protocol = protocol;
+	}
+
+	/**
+	 * @return The result as it is written in the String protocol (e.g. "MOVE_SUCCESS").
+	 */
+	public String getProtocol() {
+		return protocol;
+	}
+
+	/**
+	 * @param protocol : A result as it is written in the String protocol.
+	 * @return The matching result, or null if it is not the result of a move.
+	 */
+	public static MoveResult parse(String protocol) {
+		for (MoveResult result : ALL) {
+			if (result.protocol.equals(protocol)) {
+				return result;
+			}
+		}
+		return null;
+	}
+}
@@ -0,0 +1,164 @@
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Remembers the first step of paths that have been found before, shared by all bots (and the threads they decide on, see {@link TurnScheduler}).
+ * <p>
+ * Where a {@link Bot} goes next only depends on the walls it saw, where it is and where it saw the player,
+ * which fit in one number (the key), and the same few patterns of walls come up over and over again in a game.
+ * Every key has a set of two slots it can be remembered in, with the one used last kept in front:
+ * when a new path is stored the one that was used longest ago is forgotten (i.e. least recently used),
+ * so the cache never grows beyond the number of slots it was made with.
+ * <p>
+ * Every slot holds its key together with the step in one long, which is read and written in one go,
+ * so threads never have to wait for each other: at worst two threads store the same path twice, or one forgets a path that another just stored.
+ * What is read from a slot is always a complete key and step, so a wrong step is never handed out.
+ * <p>
+ * Counting the lookups takes as long as a lookup itself, so (like e.g. Caffeine's caches) it is only done after setRecordingStats(true).
+ *
+ * @author Jiri Swen
+ * @version 1.0
+ * @release 16/10/2026
+ * @see {@link Bot.java}
+ * @see {@link BitboardPathfinder.java}
+ */
+public class NavigationCache {
+
+	// Returned by get() when the key is not in the cache
+	public static final int MISS = Integer.MIN_VALUE;
+
+	// Two slots for every set: the key shifted up by 8 bits, with the step + 1 in bits 1 to 7 and bit 0 set for a slot that is used
+	private final AtomicLongArray slots;
+	// The number of bits of a hash that pick the set of a key
+	private final int setBits;
+	// Whether get() counts how often it finds a key
+	private volatile boolean recordingStats;
+	// How often get() found / didn't find a key while recording
+	private final LongAdder hits = new LongAdder();
+	private final LongAdder misses = new LongAdder();
+
+	/**
+	 * @param capacity : The most paths to remember, which is rounded up to a power of two (at least 2).
+	 * @exception IllegalArgumentException : If the capacity is not positive or too large.
+	 */
+	public NavigationCache(int capacity) {
+		if (capacity < 1 || capacity > 1 << 30) {
+			throw new IllegalArgumentException("A navigation cache can't remember " + capacity + " paths.");
+		}
+		int slotCount = capacity <= 2 ? 2 : Integer.highestOneBit(capacity - 1) << 1;
+		int sets = slotCount / 2;
+		setBits = Integer.numberOfTrailingZeros(sets);
+		slots = new AtomicLongArray(2 * sets);
+	}
+
+	/**
+	 * Makes the key of a path that starts in the middle of a grid of at most 7x7 tiles (such as the 5x5 area a {@link Bot} plans through).
+	 *
+	 * @param blockedMask : The tiles of the grid that can't be gone through, with bit (row * width + column) set for every one of them.
+	 * @param target : The position of the tile the path goes to (see Coordinates.toPosition()).
+	 * @return The key of the path.
+	 */
+	public static long key(long blockedMask, int target) {
+		return ((blockedMask & 0x1FFFFFFFFFFFFL) << 6) | (target & 63);
+	}
+
+	/**
+	 * Looks up the step stored for a key, making it the last one used in its set.
+	 *
+	 * @param key : The key of the path (less than 2^56, see key()).
+	 * @return The step that was stored for it, or MISS if it isn't remembered (any more).
+	 */
+	public int get(long key) {
+		int first = firstSlot(key);
+		long entry = slots.get(first);
+		if (matches(entry, key)) {
+			if (recordingStats) {
+				hits.increment();
+			}
+			return step(entry);
+		}
+		entry = slots.get(first + 1);
+		if (matches(entry, key)) {
+			// Moves it to the front, so that the other one is forgotten first
+			slots.lazySet(first + 1, slots.get(first));
+			slots.lazySet(first, entry);
+			if (recordingStats) {
+				hits.increment();
+			}
+			return step(entry);
+		}
+		if (recordingStats) {
+			misses.increment();
+		}
+		return MISS;
+	}
+
+	/**
+	 * Remembers the step for a key, forgetting the path of its set that was used longest ago.
+	 *
+	 * @param key : The key of the path (less than 2^56, see key()).
+	 * @param step : The step to remember (between -1 and 126, e.g. Coordinates.NONE for no path).
+	 */
+	public void put(long key, int step) {
+		int first = firstSlot(key);
+		slots.lazySet(first + 1, slots.get(first));
+		slots.lazySet(first, (key << 8) | ((long) (step + 1) << 1) | 1);
+	}
+
+	/**
+	 * Starts or stops counting the lookups for getHits() and getMisses(), which is off at first.
+	 *
+	 * @param recording : Whether to count the lookups from now on.
+	 */
+	public void setRecordingStats(boolean recording) {
+		recordingStats = recording;
+	}
+
+	/**
+	 * @return How often a step was found in the cache (while recording).
+	 */
+	public long getHits() {
+		return hits.sum();
+	}
+
+	/**
+	 * @return How often a step wasn't found in the cache (and had to be searched for) while recording.
+	 */
+	public long getMisses() {
+		return misses.sum();
+	}
+
+	/**
+	 * @return The share of lookups that found a step, between 0 and 1 (0 before anything was looked up).
+	 */
+	public double getHitRate() {
+		long hitCount = getHits();
+		long total = hitCount + getMisses();
+		return total == 0 ? 0 : hitCount / (double) total;
+	}
+
+	/**
+	 * @return The most paths the cache remembers at the same time.
+	 */
+	public int getCapacity() {
+		return slots.length();
+	}
+
+	/**
+	 * Spreads the keys over the sets (Fibonacci hashing), so that similar keys don't all end up in the same few sets.
+	 */
+	private int firstSlot(long key) {
+		if (setBits == 0) {
+			return 0;
+		}
+		return (int) ((key * 0x9E3779B97F4A7C15L) >>> (64 - setBits)) << 1;
+	}
+
+	private static boolean matches(long entry, long key) {
+		return (entry & 1) != 0 && (entry >>> 8) == key;
+	}
+
+	private static int step(long entry) {
+		return (int) ((entry >>> 1) & 0x7F) - 1;
+	}
+}
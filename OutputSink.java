@@ -0,0 +1,139 @@
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.util.Arrays;
+
+/**
+ * Collects everything that is shown in one go (e.g. the area a player sees when they LOOK) and then writes it all with one call.
+ * <p>
+ * Printing every character with System.out.print() locks the stream for every character and flushes it every 128 bytes or so,
+ * which makes printing a map far slower than anything else the game does.
+ * Here every frame is put together in a buffer that is reused from frame to frame, and only flush() writes it out.
+ * <p>
+ * The DISABLED sink throws everything away without even putting it in a buffer, for games that nobody watches (e.g. replays that are only measured).
+ *
+ * @author Jiri Swen
+ * @version 1.0
+ * @release 16/10/2026
+ * @see {@link HumanPlayer.java}
+ * @see {@link GameLogic.java}
+ */
+public class OutputSink {
+
+	// A sink that doesn't show anything
+	public static final OutputSink DISABLED = new OutputSink(null);
+
+	// Where the frames are written to, or null if nothing is shown
+	private final Writer writer;
+	// The frame that is being put together
+	private char[] buffer = new char[256];
+	private int length;
+
+	/**
+	 * @param output : Where to write everything to (e.g. System.out), or null to not show anything.
+	 */
+	public OutputSink(OutputStream output) {
+		writer = output == null ? null : new OutputStreamWriter(output);
+	}
+
+	/**
+	 * @return Whether anything is shown at all, so that callers can skip putting together what would be thrown away.
+	 */
+	public boolean isEnabled() {
+		return writer != null;
+	}
+
+	/**
+	 * Adds text to the frame.
+	 *
+	 * @param text : The text to add.
+	 * @return This sink, to add more to.
+	 */
+	public OutputSink append(String text) {
+		if (writer != null) {
+			ensureSpace(text.length());
+			text.getChars(0, text.length(), buffer, length);
+			length += text.length();
+		}
+		return this;
+	}
+
+	/**
+	 * Adds a single character to the frame.
+	 *
+	 * @param character : The character to add.
+	 * @return This sink, to add more to.
+	 */
+	public OutputSink append(char character) {
+		if (writer != null) {
+			ensureSpace(1);
+			buffer[length++] = character;
+		}
+		return this;
+	}
+
+	/**
+	 * Adds the end of a line to the frame.
+	 *
+	 * @return This sink, to add more to.
+	 */
+	public OutputSink newLine() {
+		return append(System.lineSeparator());
+	}
+
+	/**
+	 * Adds a grid of characters (e.g. part of the map) to the frame, every row on a line of its own.
+	 *
+	 * @param rows : The rows of the grid.
+	 * @return This sink, to add more to.
+	 */
+	public OutputSink appendRows(char[][] rows) {
+		if (writer != null) {
+			for (char[] row : rows) {
+				ensureSpace(row.length);
+				System.arraycopy(row, 0, buffer, length, row.length);
+				length += row.length;
+				newLine();
+			}
+		}
+		return this;
+	}
+
+	/**
+	 * Adds a line of text to the frame and writes the frame out, like System.out.println() would.
+	 *
+	 * @param text : The text to show.
+	 */
+	public void println(String text) {
+		append(text).newLine().flush();
+	}
+
+	/**
+	 * Writes out everything that was added since the last time, with a single call.
+	 */
+	public void flush() {
+		if (writer == null || length == 0) {
+			return;
+		}
+		try {
+			writer.write(buffer, 0, length);
+			writer.flush();
+		}
+		catch (IOException e) {
+			System.err.println("\nIOException!");
+		}
+		length = 0;
+	}
+
+	/**
+	 * Makes the buffer larger when needed, so that the same buffer can be used for every frame.
+	 *
+	 * @param extra : How many characters are about to be added.
+	 */
+	private void ensureSpace(int extra) {
+		if (length + extra > buffer.length) {
+			buffer = Arrays.copyOf(buffer, Math.max(buffer.length * 2, length + extra));
+		}
+	}
+}
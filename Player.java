@@ -33,8 +33,43 @@ public interface Player {
 
 	/**
 	 * A designated method to pass a section of a map as an array to the Player entity (probably using {@link GameLogic.look()}) to process.
+	 * {@link GameLogic} fills in the same array again the next time the same Player entity looks, so it must be copied to keep it for longer than that.
 	 *
 	 * @param The 2D character array that is the map.
 	 */
 	public void passArray(char[][] array);
+
+	/**
+	 * Ask the Player entity for the thing to do on the next turn as a {@link Command},
+	 * which {@link GameLogic} can process without any String handling.
+	 * By default this parses getNextAction(), so only players that want to skip the String protocol need to implement it.
+	 *
+	 * @return The command to be processed by {@link GameLogic}. Anything that is not a valid command counts as PASS.
+	 */
+	public default Command getAction() {
+		Command command = Command.parse(getNextAction());
+		return command == null ? Command.PASS : command;
+	}
+
+	/**
+	 * Ask the Player entity for the thing to do on the next turn, waiting at most some time for it,
+	 * so that {@link GameLogic} can go on when it is played in ticks and the Player entity doesn't do anything in time.
+	 * By default this just calls getAction(), as only players that wait for input (like the {@link HumanPlayer}) can take long.
+	 *
+	 * @param timeoutMillis : How long to wait at most, in milliseconds.
+	 * @return The command to be processed by {@link GameLogic}, or null if there was none in time.
+	 */
+	public default Command pollAction(long timeoutMillis) {
+		return getAction();
+	}
+
+	/**
+	 * Sends the result of a move back to the Player entity.
+	 * By default this passes it on to passResult() in the String protocol (e.g. "MOVE_SUCCESS").
+	 *
+	 * @param The result of the move that the Player entity asked for.
+	 */
+	public default void passMoveResult(MoveResult result) {
+		passResult(result.getProtocol());
+	}
 }
\ No newline at end of file
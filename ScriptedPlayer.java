@@ -0,0 +1,113 @@
+import java.util.SplittableRandom;
+
+/**
+ * A player that doesn't need anyone at the command line: it plays a fixed list of commands,
+ * or random ones when it has no list, and ignores everything {@link GameLogic} tells it.
+ * Used in place of the {@link HumanPlayer} to simulate games.
+ *
+ * @author Jiri Swen
+ * @version 1.0
+ * @release 16/10/2026
+ * @see {@link Player.java}
+ * @see {@link BatchSimulator.java}
+ */
+public class ScriptedPlayer implements Player {
+
+	// The commands that a player without a script picks from at random
+	private static final Command[] RANDOM_COMMANDS = new Command[] {Command.MOVE_N, Command.MOVE_S, Command.MOVE_E, Command.MOVE_W, Command.PICKUP, Command.LOOK};
+
+	// The commands to play in order, or null to play random ones
+	private final Command[] script;
+	// Whether to start over at the beginning of the script when it runs out (otherwise it passes from then on)
+	private final boolean repeat;
+	// The index of the next command of the script to play
+	private int nextCommand = 0;
+	// The random numbers to pick commands with when there is no script
+	private final SplittableRandom random;
+
+	/**
+	 * Constructor for a player that picks every command at random (from moving, picking up and looking).
+	 */
+	public ScriptedPlayer() {
+		this(new SplittableRandom());
+	}
+
+	/**
+	 * Constructor for a player that picks every command at random, always the same ones given the same random numbers.
+	 *
+	 * @param random : The random numbers for this player only, e.g. split() from the random numbers of the game.
+	 */
+	public ScriptedPlayer(SplittableRandom random) {
+		this.script = null;
+		this.repeat = false;
+		this.random = random;
+	}
+
+	/**
+	 * @param script : The commands to play in order, in the same form the {@link HumanPlayer} would send them (e.g. "MOVE N").
+	 * @param repeat : Whether to start over when the script runs out, instead of passing.
+	 * @exception IllegalArgumentException : If the script contains something that is not a valid command.
+	 */
+	public ScriptedPlayer(String[] script, boolean repeat) {
+		// The script is parsed once here so that playing it doesn't involve any Strings
+		if (script == null) {
+			this.script = null;
+		}
+		else {
+			this.script = new Command[script.length];
+			for (int i = 0; i < script.length; ++i) {
+				this.script[i] = Command.parse(script[i]);
+				if (this.script[i] == null) {
+					throw new IllegalArgumentException("\"" + script[i] + "\" is not a valid command.");
+				}
+			}
+		}
+		this.repeat = repeat;
+		this.random = new SplittableRandom();
+	}
+
+	/**
+	 * @return The next command of the script, or a random one, as the {@link HumanPlayer} would send it.
+	 */
+	public String getNextAction() {
+		return getAction().getText();
+	}
+
+	/**
+	 * @return The next command of the script, or a random one.
+	 */
+	public Command getAction() {
+		if (script == null) {
+			return RANDOM_COMMANDS[random.nextInt(RANDOM_COMMANDS.length)];
+		}
+		if (nextCommand >= script.length) {
+			if (! repeat || script.length == 0) {
+				return Command.PASS;
+			}
+			nextCommand = 0;
+		}
+		return script[nextCommand++];
+	}
+
+	/**
+	 * @return The same as getNextAction(), as there is no 'raw' input.
+	 */
+	public String getNextCommand() {
+		return getNextAction();
+	}
+
+	/**
+	 * Results are ignored: the script doesn't change based on them.
+	 */
+	public void passResult(String result) {}
+
+	/**
+	 * Results are ignored: the script doesn't change based on them.
+	 */
+	public void passMoveResult(MoveResult result) {}
+
+	/**
+	 * Looks are ignored: the script doesn't change based on them.
+	 */
+	public void passArray(char[][] array) {}
+}
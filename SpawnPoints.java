@@ -0,0 +1,86 @@
+import java.util.SplittableRandom;
+
+/**
+ * The tiles of a {@link Map} that a player may be spawned on, from which a tile can be drawn uniformly at random in constant time
+ * (instead of trying random coordinates until one happens to not be a wall, which takes long on maps that are mostly walls).
+ * <p>
+ * A list of all eligible positions would take 4 bytes per tile, which is hundreds of megabytes for the largest maps,
+ * so the tiles are kept as a set of bits like the map itself, together with how many tiles are set before every word of the set.
+ * The n-th tile is then found by a binary search for its word followed by counting bits inside that word,
+ * which takes at most a few dozen steps however large the map is.
+ * <p>
+ * The spawn points are made for the map as it is at that moment and never change afterwards, so they can be shared freely.
+ *
+ * @author Jiri Swen
+ * @version 1.0
+ * @release 16/10/2026
+ * @see {@link Map.java}
+ * @see {@link GameLogic.java}
+ */
+public class SpawnPoints {
+
+	// The eligible tiles: bit n of word n / 64 standing for position n of the map
+	private final long[] tiles;
+	// For every word of the set, the number of eligible tiles in all words before it
+	private final int[] tilesBefore;
+	// The number of eligible tiles
+	private final int size;
+
+	/**
+	 * @param tiles : The set of eligible tiles, which is kept (so it must not be changed afterwards).
+	 */
+	public SpawnPoints(long[] tiles) {
+		this.tiles = tiles;
+		tilesBefore = new int[tiles.length];
+		int count = 0;
+		for (int i = 0; i < tiles.length; ++i) {
+			tilesBefore[i] = count;
+			count += Long.bitCount(tiles[i]);
+		}
+		size = count;
+	}
+
+	/**
+	 * @return The number of tiles that can be spawned on.
+	 */
+	public int size() {
+		return size;
+	}
+
+	/**
+	 * Gives one of the tiles, numbering them by position.
+	 *
+	 * @param index : The number of the tile, from 0 up to (but not including) size().
+	 * @return The position (see Map.toPosition()) of the tile.
+	 */
+	public int get(int index) {
+		if (index < 0 || index >= size) {
+			throw new IndexOutOfBoundsException("Spawn point " + index + " out of " + size + ".");
+		}
+		// Finds the last word that has at most index tiles before it
+		int low = 0;
+		int high = tilesBefore.length - 1;
+		while (low < high) {
+			int middle = (low + high + 1) >>> 1;
+			if (tilesBefore[middle] <= index) {
+				low = middle;
+			}
+			else {
+				high = middle - 1;
+			}
+		}
+		long word = tiles[low];
+		for (int skip = index - tilesBefore[low]; skip > 0; --skip) {
+			word &= word - 1;
+		}
+		return (low << 6) + Long.numberOfTrailingZeros(word);
+	}
+
+	/**
+	 * @param random : The random numbers to pick with.
+	 * @return The position of a random tile, every tile being as likely.
+	 */
+	public int pick(SplittableRandom random) {
+		return get(random.nextInt(size));
+	}
+}
@@ -0,0 +1,116 @@
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Asks all the bots in a game what they want to do in a turn, before any of their actions is carried out.
+ * <p>
+ * A bot decides on its action only from what it remembers of earlier turns (what it saw when it looked and whether its moves worked),
+ * never from the game itself, so asking all of them first gives the same actions as asking each one right before it acts.
+ * That also means the bots can all decide at the same time: with a {@link ForkJoinPool} the bots are split over its threads,
+ * after which {@link GameLogic} carries out their actions one at a time in the order of their numbers,
+ * so a game plays out the same however many threads there are.
+ * The actions are put in one array that is reused every turn, so a turn with hundreds of bots doesn't make any garbage.
+ *
+ * @author Jiri Swen
+ * @version 1.1
+ * @release 16/10/2026
+ * @see {@link GameLogic.java}
+ * @see {@link EntityRegistry.java}
+ */
+public class TurnScheduler {
+
+	// With fewer bots than this it is faster to let them decide one after the other than to hand them to other threads
+	public static final int PARALLEL_THRESHOLD = 32;
+	// The fewest bots one thread is given at a time
+	private static final int BOTS_PER_TASK = 8;
+
+	// The threads the bots decide on, or null to let them decide one after the other on the thread of the game
+	private final ForkJoinPool pool;
+	// The action of every entity for the current turn (null for the human player, who is asked separately)
+	private Command[] actions = new Command[4];
+
+	/**
+	 * Constructor for a scheduler that asks the bots one after the other.
+	 */
+	public TurnScheduler() {
+		this(null);
+	}
+
+	/**
+	 * @param pool : The threads to let the bots decide on, or null to let them decide one after the other.
+	 */
+	public TurnScheduler(ForkJoinPool pool) {
+		this.pool = pool;
+	}
+
+	/**
+	 * Asks every bot for its action for the turn.
+	 *
+	 * @param entities : The entities of the game.
+	 * @return The action of every bot, by entity number: only valid until the next turn.
+	 */
+	public Command[] collectActions(EntityRegistry entities) {
+		if (actions.length < entities.size()) {
+			actions = Arrays.copyOf(actions, Math.max(entities.size(), actions.length * 2));
+		}
+		actions[EntityRegistry.HUMAN] = null;
+		if (pool == null || entities.size() - 1 < PARALLEL_THRESHOLD) {
+			collectActions(entities, EntityRegistry.HUMAN + 1, entities.size());
+		}
+		else {
+			CollectTask task = new CollectTask(entities, EntityRegistry.HUMAN + 1, entities.size());
+			// Games that are played on the pool already (see BatchSimulator) just split the work further instead of waiting on it
+			if (ForkJoinTask.getPool() == pool) {
+				task.invoke();
+			}
+			else {
+				pool.invoke(task);
+			}
+		}
+		return actions;
+	}
+
+	/**
+	 * Asks some of the bots for their action.
+	 *
+	 * @param entities : The entities of the game.
+	 * @param from : The first bot to ask.
+	 * @param to : The bot after the last one to ask.
+	 */
+	private void collectActions(EntityRegistry entities, int from, int to) {
+		for (int i = from; i < to; ++i) {
+			actions[i] = entities.getPlayer(i).getAction();
+		}
+	}
+
+	/**
+	 * Asks a range of bots for their action, splitting it in halves for other threads to take while it is large.
+	 */
+	private class CollectTask extends RecursiveAction {
+
+		// Tasks are never serialized, but a RecursiveAction is Serializable
+		private static final long serialVersionUID = 1L;
+
+		private final EntityRegistry entities;
+		private final int from;
+		private final int to;
+
+		CollectTask(EntityRegistry entities, int from, int to) {
+			this.entities = entities;
+			this.from = from;
+			this.to = to;
+		}
+
+		@Override
+		protected void compute() {
+			if (to - from <= BOTS_PER_TASK) {
+				collectActions(entities, from, to);
+				return;
+			}
+			int middle = (from + to) >>> 1;
+			invokeAll(new CollectTask(entities, from, middle), new CollectTask(entities, middle, to));
+		}
+	}
+}
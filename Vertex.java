@@ -4,10 +4,7 @@
  * @author vogella: released under Creative Commons Attribution-NonCommercial-ShareAlike 3.0 Germany
  * https://github.com/vogellacompany/codeexamples-java/blob/master/de.vogella.algorithms.dijkstra/src/de/vogella/algorithms/dijkstra/model/Vertex.java
  * @release 30/08/2010
- * @see {@link DijkstraAlgorithm.java}
  * @see {@link DijkstraOperations.java}
- * @see {@link Edge.java}
- * @see {@link Graph.java}
  */
 public class Vertex { ////from http://www.vogella.com/tutorials/JavaAlgorithmsDijkstra/article.html#copyright-and-license
     final private String id;
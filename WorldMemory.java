@@ -0,0 +1,257 @@
+/**
+ * Everything a {@link Bot} has seen of the map so far, so it doesn't have to LOOK again to know where the walls are where it has been before.
+ * <p>
+ * A bot doesn't know where on the map it is, so tiles are kept by where they are from the tile the bot started on
+ * (rows and columns can be negative), which the bot keeps track of as it moves.
+ * The bot only ever sees a small part of a map, which can be millions of tiles, so the tiles are kept in chunks of 16x16
+ * that are only made once something in them has been seen. Every chunk is two sets of bits (like the walls of a {@link Map}):
+ * one for the tiles that have been seen and one for the tiles that are walls.
+ * The chunks are found by their row and column in a hash table of primitive arrays, so looking a tile up doesn't create anything.
+ *
+ * @author Jiri Swen
+ * @version 1.0
+ * @release 16/10/2026
+ * @see {@link Bot.java}
+ */
+public class WorldMemory {
+
+	// What getTile() says a tile is
+	public static final int UNSEEN = 0;
+	public static final int FLOOR = 1;
+	public static final int WALL = 2;
+
+	// Chunks are 2^CHUNK_BITS tiles wide and high
+	private static final int CHUNK_BITS = 4;
+	private static final int CHUNK_SIZE = 1 << CHUNK_BITS;
+	// The words of a chunk: the first half are the tiles that have been seen, the second half the walls
+	private static final int WORDS_PER_SET = CHUNK_SIZE * CHUNK_SIZE / 64;
+
+	// The hash table of chunks: the row and column of a chunk packed into its key, with a null chunk for a free slot
+	private long[] keys = new long[16];
+	private long[][] chunks = new long[16][];
+	// The number of chunks
+	private int chunkCount;
+	// The chunk that was used last and its key, as tiles are mostly looked up close to each other
+	private long lastKey;
+	private long[] lastChunk;
+	// Goes up every time a tile is seen for the first time or turns out to be something else, so what was worked out from the memory knows when it is outdated
+	private int version;
+
+	/**
+	 * Adds what was seen when looking (e.g. the 5x5 area a bot gets) to the memory.
+	 * Bots and players in the area ('B' and 'P') are remembered as floor, as they don't stay there.
+	 *
+	 * @param view : The area that was seen.
+	 * @param centreRow : The row the centre of the area is on.
+	 * @param centreColumn : The column the centre of the area is on.
+	 */
+	public void merge(char[][] view, int centreRow, int centreColumn) {
+		int top = centreRow - view.length / 2;
+		for (int i = 0; i < view.length; ++i) {
+			int left = centreColumn - view[i].length / 2;
+			for (int j = 0; j < view[i].length; ++j) {
+				remember(top + i, left + j, view[i][j] == '#');
+			}
+		}
+	}
+
+	/**
+	 * Remembers a single tile, e.g. a wall that the bot found out about by walking into it.
+	 *
+	 * @param row : The row of the tile.
+	 * @param column : The column of the tile.
+	 * @param wall : Whether the tile is a wall.
+	 */
+	public void remember(int row, int column, boolean wall) {
+		long[] chunk = getChunk(row, column, true);
+		int bit = bitInChunk(row, column);
+		long known = chunk[bit >>> 6] | (1L << bit);
+		long walls = wall ? chunk[WORDS_PER_SET + (bit >>> 6)] | (1L << bit) : chunk[WORDS_PER_SET + (bit >>> 6)] & ~(1L << bit);
+		if (known != chunk[bit >>> 6] || walls != chunk[WORDS_PER_SET + (bit >>> 6)]) {
+			chunk[bit >>> 6] = known;
+			chunk[WORDS_PER_SET + (bit >>> 6)] = walls;
+			version ++;
+		}
+	}
+
+	/**
+	 * @param row : The row of the tile.
+	 * @param column : The column of the tile.
+	 * @return Whether the tile has been seen.
+	 */
+	public boolean isKnown(int row, int column) {
+		long[] chunk = getChunk(row, column, false);
+		if (chunk == null) {
+			return false;
+		}
+		int bit = bitInChunk(row, column);
+		return (chunk[bit >>> 6] & (1L << bit)) != 0;
+	}
+
+	/**
+	 * @param row : The row of the tile.
+	 * @param column : The column of the tile.
+	 * @return Whether the tile is known to be a wall.
+	 */
+	public boolean isWall(int row, int column) {
+		long[] chunk = getChunk(row, column, false);
+		if (chunk == null) {
+			return false;
+		}
+		int bit = bitInChunk(row, column);
+		return (chunk[WORDS_PER_SET + (bit >>> 6)] & (1L << bit)) != 0;
+	}
+
+	/**
+	 * Same as isKnown() and isWall() together, but finding the chunk of the tile only once.
+	 *
+	 * @param row : The row of the tile.
+	 * @param column : The column of the tile.
+	 * @return UNSEEN, FLOOR or WALL.
+	 */
+	public int getTile(int row, int column) {
+		long[] chunk = getChunk(row, column, false);
+		if (chunk == null) {
+			return UNSEEN;
+		}
+		int bit = bitInChunk(row, column);
+		if ((chunk[bit >>> 6] & (1L << bit)) == 0) {
+			return UNSEEN;
+		}
+		return (chunk[WORDS_PER_SET + (bit >>> 6)] & (1L << bit)) != 0 ? WALL : FLOOR;
+	}
+
+	/**
+	 * Gives the walls around a tile, as one set of bits for a {@link BitboardPathfinder}.
+	 * Tiles that haven't been seen are not in it: a path may lead through them, and is found again once they have been seen.
+	 *
+	 * @param centreRow : The row of the tile in the middle.
+	 * @param centreColumn : The column of the tile in the middle.
+	 * @param radius : How many tiles to take in every direction, at most 3 (so the area fits in one long).
+	 * @return The set with bit (row * (2 * radius + 1) + column) set for every tile of the area that is known to be a wall.
+	 */
+	public long getWallMask(int centreRow, int centreColumn, int radius) {
+		int size = 2 * radius + 1;
+		long walls = 0;
+		for (int i = 0; i < size; ++i) {
+			for (int j = 0; j < size; ++j) {
+				int row = centreRow - radius + i;
+				int column = centreColumn - radius + j;
+				long[] chunk = getChunk(row, column, false);
+				int bit = bitInChunk(row, column);
+				if (chunk != null && (chunk[WORDS_PER_SET + (bit >>> 6)] & (1L << bit)) != 0) {
+					walls |= 1L << (i * size + j);
+				}
+			}
+		}
+		return walls;
+	}
+
+	/**
+	 * Gives the tiles around a tile that have been seen, as one set of bits like getWallMask().
+	 *
+	 * @param centreRow : The row of the tile in the middle.
+	 * @param centreColumn : The column of the tile in the middle.
+	 * @param radius : How many tiles to take in every direction, at most 3 (so the area fits in one long).
+	 * @return The set with bit (row * (2 * radius + 1) + column) set for every tile of the area that has been seen.
+	 */
+	public long getKnownMask(int centreRow, int centreColumn, int radius) {
+		int size = 2 * radius + 1;
+		long known = 0;
+		for (int i = 0; i < size; ++i) {
+			for (int j = 0; j < size; ++j) {
+				int row = centreRow - radius + i;
+				int column = centreColumn - radius + j;
+				long[] chunk = getChunk(row, column, false);
+				int bit = bitInChunk(row, column);
+				if (chunk != null && (chunk[bit >>> 6] & (1L << bit)) != 0) {
+					known |= 1L << (i * size + j);
+				}
+			}
+		}
+		return known;
+	}
+
+	/**
+	 * @return A number that changes whenever anything that is remembered changes (and only then).
+	 */
+	public int getVersion() {
+		return version;
+	}
+
+	/**
+	 * @return The number of 16x16 chunks that something has been seen in.
+	 */
+	public int getChunkCount() {
+		return chunkCount;
+	}
+
+	private static int bitInChunk(int row, int column) {
+		return ((row & (CHUNK_SIZE - 1)) << CHUNK_BITS) | (column & (CHUNK_SIZE - 1));
+	}
+
+	/**
+	 * Finds the chunk a tile is in.
+	 *
+	 * @param row : The row of the tile.
+	 * @param column : The column of the tile.
+	 * @param create : Whether to make the chunk if it doesn't exist yet.
+	 * @return The chunk, or null if it doesn't exist and wasn't made.
+	 */
+	private long[] getChunk(int row, int column, boolean create) {
+		// The shifts keep their sign, so chunks left of / above the start get negative numbers
+		long key = ((long) (row >> CHUNK_BITS) << 32) | ((column >> CHUNK_BITS) & 0xFFFFFFFFL);
+		if (lastChunk != null && key == lastKey) {
+			return lastChunk;
+		}
+		int mask = keys.length - 1;
+		int slot = hash(key) & mask;
+		while (chunks[slot] != null) {
+			if (keys[slot] == key) {
+				lastKey = key;
+				lastChunk = chunks[slot];
+				return lastChunk;
+			}
+			slot = (slot + 1) & mask;
+		}
+		if (! create) {
+			return null;
+		}
+		long[] chunk = new long[2 * WORDS_PER_SET];
+		keys[slot] = key;
+		chunks[slot] = chunk;
+		chunkCount ++;
+		// Keeps the table at most half full, so a chunk is found in a step or two
+		if (2 * chunkCount > keys.length) {
+			grow();
+		}
+		lastKey = key;
+		lastChunk = chunk;
+		return chunk;
+	}
+
+	/**
+	 * Doubles the hash table, putting every chunk in its new slot.
+	 */
+	private void grow() {
+		long[] oldKeys = keys;
+		long[][] oldChunks = chunks;
+		keys = new long[oldKeys.length * 2];
+		chunks = new long[oldChunks.length * 2][];
+		int mask = keys.length - 1;
+		for (int i = 0; i < oldKeys.length; ++i) {
+			if (oldChunks[i] != null) {
+				int slot = hash(oldKeys[i]) & mask;
+				while (chunks[slot] != null) {
+					slot = (slot + 1) & mask;
+				}
+				keys[slot] = oldKeys[i];
+				chunks[slot] = oldChunks[i];
+			}
+		}
+	}
+
+	private static int hash(long key) {
+		return (int) ((key * 0x9E3779B97F4A7C15L) >>> 32);
+	}
+}